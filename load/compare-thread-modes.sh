@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+# Runs the GET /api/plants load test against the application once on platform threads
+# and once on virtual threads and prints the throughput and latency summary of each.
+# Needs a built jar (mvn package), k6 on the PATH and the DB_* / JWT_SECRET variables
+# pointing at a PostgreSQL instance. Runs on Java 21 or newer.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=$(ls target/plant-tracker-*.jar | grep -v plain | head -n 1)
+PORT=${PORT:-8080}
+
+run_mode() {
+    local virtual=$1
+    echo "=== spring.threads.virtual.enabled=${virtual} ==="
+    # a single user drives the whole load, so the per-user rate limit is switched off
+    VIRTUAL_THREADS=${virtual} RATE_LIMITS_ENABLED=false java -jar "${JAR}" --server.port="${PORT}" > "target/load-${virtual}.log" 2>&1 &
+    local pid=$!
+    trap 'kill ${pid} 2>/dev/null || true' RETURN
+    until curl -s -o /dev/null "http://localhost:${PORT}/api/auth/login"; do
+        sleep 1
+    done
+    k6 run --quiet -e BASE_URL="http://localhost:${PORT}" load/plants.js \
+        | grep -E 'http_reqs|http_req_duration|http_req_failed'
+}
+
+run_mode false
+run_mode true
@@ -0,0 +1,47 @@
+// k6 load test for GET /api/plants: one user with a page of plants, read by many
+// concurrent virtual users. Run through compare-thread-modes.sh to compare the
+// platform and virtual thread modes, or on its own against a running server:
+//   k6 run -e BASE_URL=http://localhost:8080 load/plants.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const PLANTS = Number(__ENV.PLANTS || 100);
+
+export const options = {
+    scenarios: {
+        plants: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 400),
+            duration: __ENV.DURATION || '60s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const id = `${Date.now()}-${Math.floor(Math.random() * 1e6)}`;
+    const register = http.post(`${BASE_URL}/api/auth/register`, JSON.stringify({
+        email: `load-${id}@example.com`,
+        username: `load${id}`.slice(0, 20),
+        password: 'load-test-password',
+    }), { headers: { 'Content-Type': 'application/json' } });
+    check(register, { 'registered': r => r.status === 201 });
+    const token = register.json('jwt');
+
+    const plants = [];
+    for (let i = 0; i < PLANTS; i++) {
+        plants.push({ name: `plant-${i}` });
+    }
+    http.post(`${BASE_URL}/api/plants/batch`, JSON.stringify({ plants }), {
+        headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${token}` },
+    });
+    return { token };
+}
+
+export default function (data) {
+    const response = http.get(`${BASE_URL}/api/plants?limit=${PLANTS}`, {
+        headers: { Authorization: `Bearer ${data.token}` },
+    });
+    check(response, { 'status is 200': r => r.status === 200 });
+}
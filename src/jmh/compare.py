@@ -0,0 +1,69 @@
+#!/usr/bin/env python3
+"""Compares two JMH JSON result files, for example from two commits.
+
+    python3 src/jmh/compare.py baseline.json target/jmh-result.json [--threshold 5]
+
+Prints every benchmark found in both files with its change and exits with status 1 when
+any of them got worse by more than the threshold (in percent) and by more than the two
+error margins combined, so noise alone does not fail a comparison.
+"""
+import argparse
+import json
+import math
+import sys
+
+# modes where a higher score is better; the others report time per operation
+HIGHER_IS_BETTER = {"thrpt"}
+
+
+def load(path):
+    with open(path) as f:
+        results = json.load(f)
+    return {key(result): result for result in results}
+
+
+def key(result):
+    params = ",".join(f"{name}={value}" for name, value in sorted(result.get("params", {}).items()))
+    # class and method, without the package
+    return ".".join(result["benchmark"].rsplit(".", 2)[-2:]), result["mode"], params
+
+
+def error(metric):
+    # JMH writes "NaN" when a run had too few iterations to estimate the error
+    value = float(metric.get("scoreError") or 0)
+    return 0.0 if math.isnan(value) else abs(value)
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Compare two JMH JSON result files.")
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=5.0,
+                        help="percent change that counts as a regression (default 5)")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+    regressions = 0
+    print(f"{'benchmark':<60} {'mode':<5} {'baseline':>19} {'current':>19} {'change':>8}")
+    for k in sorted(baseline.keys() & current.keys()):
+        name, mode, params = k
+        before = baseline[k]["primaryMetric"]
+        after = current[k]["primaryMetric"]
+        change = (after["score"] - before["score"]) / before["score"] * 100
+        worse = -change if mode in HIGHER_IS_BETTER else change
+        margin = error(before) + error(after)
+        regressed = worse > args.threshold and abs(after["score"] - before["score"]) > margin
+        regressions += regressed
+        label = f"{name} {params}".strip()
+        unit = after["scoreUnit"]
+        print(f"{label:<60} {mode:<5} {before['score']:>12.3f} {unit:<6} {after['score']:>12.3f} {unit:<6}"
+              f" {change:>+7.1f}%{'  REGRESSION' if regressed else ''}")
+    for k in sorted(baseline.keys() ^ current.keys()):
+        side = "baseline" if k in baseline else "current"
+        print(f"{k[0]} {k[2]}".strip() + f" only in {side}")
+    return 1 if regressions else 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
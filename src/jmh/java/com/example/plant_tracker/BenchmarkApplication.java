@@ -0,0 +1,48 @@
+package com.example.plant_tracker;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+/**
+ * Starts the whole application for benchmarks that go through the service and JPA
+ * stack. It runs on the H2 stand-in from the test resources, or on PostgreSQL when
+ * {@code DB_URL} is set, with {@code DB_USER} and {@code DB_PASSWORD} as for the
+ * application itself; JMH forks inherit the environment.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        boolean postgres = System.getenv("DB_URL") != null;
+        return new SpringApplicationBuilder(PlantTrackerApplication.class)
+                .profiles(postgres ? new String[0] : new String[]{"h2"})
+                .properties("JWT_SECRET=c2VjcmV0LWtleS1mb3ItdGVzdGluZy1wdXJwb3Nlcy1vbmx5LTEyMzQ1Njc4OTA=")
+                .run("--server.port=0",
+                        "--management.server.port=-1",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=warn",
+                        "--rate-limits.enabled=false");
+    }
+
+    /**
+     * Adds a user with no plants and returns its id.
+     */
+    public static UUID createUser(ConfigurableApplicationContext context) {
+        UUID userId = UUID.randomUUID();
+        context.getBean(JdbcTemplate.class).update(
+                "insert into users (id, email, username, password, role) values (?, ?, ?, 'password', 'ROLE_USER')",
+                userId, userId + "@example.com", userId.toString());
+        return userId;
+    }
+
+    public static void deleteUser(ConfigurableApplicationContext context, UUID userId) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("delete from plant where user_id = ?", userId);
+        jdbcTemplate.update("delete from users where id = ?", userId);
+    }
+}
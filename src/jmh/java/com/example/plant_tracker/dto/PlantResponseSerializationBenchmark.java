@@ -0,0 +1,73 @@
+package com.example.plant_tracker.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of plant lists as the plant endpoints write them, with the mapper
+ * configured like the application's. Output goes to a discarding stream, so the numbers
+ * are the serializer's alone and not growing a buffer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlantResponseSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int plants;
+
+    private ObjectWriter writer;
+
+    private List<PlantResponse> list;
+
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(new TypeReference<List<PlantResponse>>() { })
+                // the response stream stays open after the body, as it does in the converter
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        Instant now = Instant.parse("2025-06-01T08:00:00Z");
+        list = new ArrayList<>(plants);
+        for (int i = 0; i < plants; i++) {
+            Instant lastWatered = i % 4 == 0 ? null : now.minusSeconds(3_600L * i);
+            int interval = 1 + i % 30;
+            list.add(new PlantResponse(UUID.randomUUID(), "Plant " + i, lastWatered, interval,
+                    lastWatered != null ? lastWatered.plusSeconds(86_400L * interval) : now));
+        }
+    }
+
+    @Benchmark
+    public OutputStream serialize() throws IOException {
+        writer.writeValue(out, list);
+        return out;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.plant_tracker.repository;
+
+import com.example.plant_tracker.BenchmarkApplication;
+import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.model.Plant;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One user's plant list read the way {@code getUserPlants} used to, as managed entities
+ * in a read-write transaction mapped to DTOs by hand, against the projection it uses now,
+ * which builds the DTOs in the query inside a read-only transaction. Run with
+ * {@code -prof gc} to also see the allocation per list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlantListQueryBenchmark {
+
+    @Param({"100", "500"})
+    public int plants;
+
+    private ConfigurableApplicationContext context;
+
+    private PlantRepository plantRepository;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        plantRepository = context.getBean(PlantRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        userId = BenchmarkApplication.createUser(context);
+        Instant now = Instant.parse("2025-06-01T08:00:00Z");
+        List<Object[]> rows = new ArrayList<>(plants);
+        for (int i = 0; i < plants; i++) {
+            Timestamp lastWatered = i % 4 == 0 ? null : Timestamp.from(now.minusSeconds(3_600L * i));
+            rows.add(new Object[]{UUID.randomUUID(), "Plant " + i, lastWatered, userId, Timestamp.from(now)});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate("insert into plant (id, name, last_watered_at, user_id,"
+                + " next_due_at) values (?, ?, ?, ?, ?)", rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkApplication.deleteUser(context, userId);
+        context.close();
+    }
+
+    @Benchmark
+    public List<PlantResponse> managedEntities() {
+        return readWrite.execute(status -> entityManager
+                .createQuery("select p from Plant p where p.user.id = :userId order by p.name, p.id", Plant.class)
+                .setParameter("userId", userId)
+                .setMaxResults(plants)
+                .getResultList().stream()
+                .map(plant -> new PlantResponse(plant.getId(), plant.getName(), plant.getLastWateredAt(),
+                        plant.getWateringIntervalDays(), plant.getNextDueAt()))
+                .toList());
+    }
+
+    @Benchmark
+    public List<PlantResponse> dtoProjection() {
+        return readOnly.execute(status -> plantRepository.findPageByUserId(userId, PlantSortProperty.NAME,
+                Sort.Direction.ASC, null, plants));
+    }
+}
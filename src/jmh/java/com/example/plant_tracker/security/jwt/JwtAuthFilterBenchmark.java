@@ -0,0 +1,70 @@
+package com.example.plant_tracker.security.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link JwtAuthFilter} per request: parsing the bearer token out of the
+ * Authorization header alone, and the whole filter with a token already in the
+ * verified-token cache, which is the common case for a returning client.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthFilter filter;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtUtils jwtUtils = new JwtUtils(JwtUtilsBenchmark.SECRET, 10_000, meterRegistry);
+        // nothing revoked and never refreshed, so no repository is needed
+        TokenRevocations revocations = new TokenRevocations(null, 10_000, Clock.systemUTC());
+        filter = new JwtAuthFilter(jwtUtils, revocations, meterRegistry);
+        String token = jwtUtils.generateToken(UUID.randomUUID(), "user@example.com", "ROLE_USER");
+        request = new MockHttpServletRequest("GET", "/api/plants");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public String parseJwt() {
+        return filter.parseJwt(request);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filter() throws Exception {
+        // OncePerRequestFilter marks the request as filtered, so clear that between calls
+        request.clearAttributes();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+}
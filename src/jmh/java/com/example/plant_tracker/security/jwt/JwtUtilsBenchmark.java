@@ -0,0 +1,72 @@
+package com.example.plant_tracker.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and verification through {@link JwtUtils}: a verification answered
+ * by the verified-token cache, one that checks the signature, and building the request
+ * principal from the claims.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilsBenchmark {
+
+    static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdGluZy1wdXJwb3Nlcy1vbmx5LTEyMzQ1Njc4OTA=";
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private JwtUtils cached;
+
+    private JwtUtils uncached;
+
+    private String token;
+
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtUtils(SECRET, 10_000, new SimpleMeterRegistry());
+        uncached = new JwtUtils(SECRET, 0, new SimpleMeterRegistry());
+        token = cached.generateToken(USER_ID, "user@example.com", "ROLE_USER");
+        claims = cached.verify(token).orElseThrow();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken(USER_ID, "user@example.com", "ROLE_USER");
+    }
+
+    @Benchmark
+    public Optional<Claims> verifyCached() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> verifySignature() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public Object toPrincipal() {
+        return cached.toPrincipal(claims);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.plant_tracker.security.ratelimit;
+
+import com.example.plant_tracker.security.UserPrincipal;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link RateLimitFilter} on the allowed path, with limits high enough that no
+ * request is ever rejected. Each thread is its own user, so the threaded run measures
+ * contention on the bucket map rather than on a single bucket.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private RateLimitFilter filter;
+
+    @Setup
+    public void setUp() {
+        filter = new RateLimitFilter(new RateLimitProperties(true, 100_000, List.of(
+                new RateLimitProperties.Rule("/api/auth/login", HttpMethod.POST, RateLimitProperties.KeyType.IP,
+                        10, Duration.ofMinutes(1)),
+                new RateLimitProperties.Rule("/api/plants/**", null, RateLimitProperties.KeyType.USER,
+                        Integer.MAX_VALUE, Duration.ofSeconds(1)))));
+    }
+
+    @State(Scope.Thread)
+    public static class Request {
+
+        MockHttpServletRequest request;
+
+        MockHttpServletResponse response;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            UserPrincipal principal = new UserPrincipal(UUID.randomUUID(), "user@example.com", "ROLE_USER");
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+            request = new MockHttpServletRequest("GET", "/api/plants/due");
+            request.setRemoteAddr("10.0.0.1");
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public MockHttpServletResponse allowed(Request state) throws Exception {
+        // OncePerRequestFilter marks the request as filtered, so clear that between calls
+        state.request.clearAttributes();
+        filter.doFilter(state.request, state.response, NO_OP_CHAIN);
+        return state.response;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public MockHttpServletResponse allowedContended(Request state) throws Exception {
+        state.request.clearAttributes();
+        filter.doFilter(state.request, state.response, NO_OP_CHAIN);
+        return state.response;
+    }
+}
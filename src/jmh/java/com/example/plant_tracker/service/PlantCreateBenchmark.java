@@ -0,0 +1,93 @@
+package com.example.plant_tracker.service;
+
+import com.example.plant_tracker.BenchmarkApplication;
+import com.example.plant_tracker.dto.BatchCreatePlantResult;
+import com.example.plant_tracker.dto.BatchCreatePlantsRequest;
+import com.example.plant_tracker.dto.CreatePlantRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating {@code plants} plants one request at a time, each with its own transaction and
+ * insert, against sending them to the batch endpoint's service method, which looks the
+ * names up once and inserts them in JDBC batches. Every operation uses new names; the
+ * plants are deleted after each iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlantCreateBenchmark {
+
+    @Param({"100", "500"})
+    public int plants;
+
+    private ConfigurableApplicationContext context;
+
+    private PlantService plantService;
+
+    private UUID userId;
+
+    private long operation;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        plantService = context.getBean(PlantService.class);
+        userId = BenchmarkApplication.createUser(context);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deletePlants() {
+        context.getBean(JdbcTemplate.class).update("delete from plant where user_id = ?", userId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkApplication.deleteUser(context, userId);
+        context.close();
+    }
+
+    @Benchmark
+    public int single() {
+        List<CreatePlantRequest> requests = nextRequests();
+        for (CreatePlantRequest request : requests) {
+            plantService.createPlant(request, userId);
+        }
+        return requests.size();
+    }
+
+    @Benchmark
+    public List<BatchCreatePlantResult> batch() {
+        return plantService.createPlants(new BatchCreatePlantsRequest(nextRequests()), userId);
+    }
+
+    private List<CreatePlantRequest> nextRequests() {
+        long op = operation++;
+        List<CreatePlantRequest> requests = new ArrayList<>(plants);
+        for (int i = 0; i < plants; i++) {
+            requests.add(new CreatePlantRequest("Plant " + op + "-" + i));
+        }
+        return requests;
+    }
+}
@@ -2,8 +2,10 @@ package com.example.plant_tracker;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class PlantTrackerApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,147 @@
+package com.example.plant_tracker;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Optionally makes sure only one instance of the application runs against the database.
+ * The reminder scheduler, the plant statistics and the server-sent event fan-out all
+ * keep their state in memory and only see the changes made by their own instance, so a
+ * second instance would serve stale statistics and miss reminders and events.
+ * <p>
+ * The instance holds a PostgreSQL session advisory lock on a connection of its own,
+ * outside the pool. The lock is taken while the beans are created, before any of them
+ * loads its state from the database, and a starting instance that cannot get it within
+ * {@code single-instance.wait} (none by default) fails to start. That only works with a
+ * deployment that stops the old instance before starting the new one: a rolling update
+ * that waits for the new instance to become ready would never get there, so the lock is
+ * off unless {@code single-instance.enabled} is set.
+ */
+@Component
+@ConditionalOnProperty(name = "single-instance.enabled", havingValue = "true")
+public class SingleInstanceLock {
+
+    private static final Logger logger = LoggerFactory.getLogger(SingleInstanceLock.class);
+
+    // arbitrary, but fixed: every instance has to ask for the same lock
+    private static final long LOCK_KEY = 0x706c616e74L;
+
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(1);
+
+    private final DataSource dataSource;
+
+    private final ConfigurableApplicationContext context;
+
+    private final Duration wait;
+
+    private volatile Connection connection;
+
+    @Autowired
+    public SingleInstanceLock(DataSourceProperties dataSourceProperties,
+                              ConfigurableApplicationContext context,
+                              @Value("${single-instance.wait:PT0S}") Duration wait) {
+        this(dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build(), context, wait);
+    }
+
+    SingleInstanceLock(DataSource dataSource, ConfigurableApplicationContext context, Duration wait) {
+        this.dataSource = dataSource;
+        this.context = context;
+        this.wait = wait;
+    }
+
+    @PostConstruct
+    public void acquire() throws SQLException, InterruptedException {
+        long deadline = System.nanoTime() + wait.toNanos();
+        boolean waiting = false;
+        while (!tryAcquire()) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new IllegalStateException("Another instance of the application holds the single-instance lock;"
+                        + " only one instance may run against the database");
+            }
+            if (!waiting) {
+                logger.info("Another instance is running, waiting up to {} for it to stop", wait);
+                waiting = true;
+            }
+            Thread.sleep(RETRY_INTERVAL.toMillis());
+        }
+    }
+
+    /**
+     * Checks that the lock connection is still alive. When it was lost, for example
+     * because the database restarted, the lock is taken again; if another instance got
+     * it in the meantime, this one shuts down. The shutdown runs on a thread of its own,
+     * since closing the context stops the scheduler this check runs on and waits for it.
+     */
+    @Scheduled(fixedDelayString = "${single-instance.check-interval:PT30S}")
+    public void check() {
+        try {
+            if (connection.isValid(5)) {
+                return;
+            }
+            logger.warn("Lost the connection holding the single-instance lock, taking the lock again");
+            if (tryAcquire()) {
+                return;
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not take the single-instance lock again, retrying", e);
+            return;
+        }
+        logger.error("Another instance took the single-instance lock, shutting down");
+        new Thread(context::close, "single-instance-shutdown").start();
+    }
+
+    @PreDestroy
+    public void release() {
+        closeQuietly(connection);
+    }
+
+    private boolean tryAcquire() throws SQLException {
+        closeQuietly(connection);
+        Connection candidate = dataSource.getConnection();
+        try (PreparedStatement statement = candidate.prepareStatement("select pg_try_advisory_lock(?)")) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                if (resultSet.getBoolean(1)) {
+                    connection = candidate;
+                    return true;
+                }
+            }
+        } catch (SQLException e) {
+            closeQuietly(candidate);
+            throw e;
+        }
+        closeQuietly(candidate);
+        return false;
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.debug("Could not close the single-instance lock connection", e);
+        }
+    }
+}
@@ -3,14 +3,18 @@ package com.example.plant_tracker.controller;
 import com.example.plant_tracker.dto.AuthResponse;
 import com.example.plant_tracker.dto.LoginRequest;
 import com.example.plant_tracker.dto.RegisterRequest;
+import com.example.plant_tracker.dto.RevokeTokenRequest;
 import com.example.plant_tracker.exception.EmailExistsException;
+import com.example.plant_tracker.security.jwt.JwtAuthFilter;
 import com.example.plant_tracker.service.AuthService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -60,4 +64,26 @@ public class AuthController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Revokes the bearer token of the request. Answers 204 even without a valid token,
+     * so logging out twice is harmless.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String token = JwtAuthFilter.bearerToken(authorization);
+        if (token != null) {
+            authService.revoke(token);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Revokes the given token, for example one of the user's other sessions.
+     */
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revoke(@Valid @RequestBody RevokeTokenRequest request) {
+        authService.revoke(request.token());
+        return ResponseEntity.noContent().build();
+    }
 }
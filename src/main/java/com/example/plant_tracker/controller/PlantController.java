@@ -1,20 +1,45 @@
 package com.example.plant_tracker.controller;
 
+import com.example.plant_tracker.dto.BatchCreatePlantResult;
+import com.example.plant_tracker.dto.BatchCreatePlantsRequest;
 import com.example.plant_tracker.dto.CreatePlantRequest;
+import com.example.plant_tracker.dto.PlantImportResult;
+import com.example.plant_tracker.dto.PlantPage;
 import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.dto.PlantStatsResponse;
 import com.example.plant_tracker.dto.UpdatePlantNameRequest;
+import com.example.plant_tracker.dto.UpdateWateringIntervalRequest;
+import com.example.plant_tracker.dto.WaterPlantsRequest;
+import com.example.plant_tracker.dto.WateringResponse;
+import com.example.plant_tracker.security.UserPrincipal;
+import com.example.plant_tracker.service.PlantEventBroadcaster;
+import com.example.plant_tracker.service.PlantExportFormat;
+import com.example.plant_tracker.service.PlantExportService;
+import com.example.plant_tracker.service.PlantImportService;
+import com.example.plant_tracker.service.PlantListVersions;
 import com.example.plant_tracker.service.PlantService;
+import com.example.plant_tracker.stats.PlantStatsService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,21 +49,39 @@ public class PlantController {
 
     public static final Logger log = LoggerFactory.getLogger(PlantController.class);
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final PlantService plantService;
 
-    public PlantController(PlantService plantService) {
+    private final PlantStatsService plantStatsService;
+
+    private final PlantListVersions plantListVersions;
+
+    private final PlantExportService plantExportService;
+
+    private final PlantImportService plantImportService;
+
+    private final PlantEventBroadcaster plantEventBroadcaster;
+
+    public PlantController(PlantService plantService, PlantStatsService plantStatsService,
+                           PlantListVersions plantListVersions, PlantExportService plantExportService,
+                           PlantImportService plantImportService, PlantEventBroadcaster plantEventBroadcaster) {
         this.plantService = plantService;
+        this.plantStatsService = plantStatsService;
+        this.plantListVersions = plantListVersions;
+        this.plantExportService = plantExportService;
+        this.plantImportService = plantImportService;
+        this.plantEventBroadcaster = plantEventBroadcaster;
     }
 
     @PostMapping
     public ResponseEntity<PlantResponse> createPlant(
             @Valid @RequestBody CreatePlantRequest request,
-            Authentication authentication
+            @AuthenticationPrincipal UserPrincipal principal
     ) {
-        String email = authentication.getName();
-        log.debug("Creating plant for user: {}", email);
+        log.debug("Creating plant for user: {}", principal.id());
 
-        PlantResponse response = plantService.createPlant(request, email);
+        PlantResponse response = plantService.createPlant(request, principal.id());
 
         URI location = ServletUriComponentsBuilder
                 .fromCurrentRequest()
@@ -49,13 +92,51 @@ public class PlantController {
         return ResponseEntity.created(location).body(response);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchCreatePlantResult>> createPlants(
+            @Valid @RequestBody BatchCreatePlantsRequest request,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        log.debug("Creating {} plants for user: {}", request.plants().size(), principal.id());
+
+        List<BatchCreatePlantResult> response = plantService.createPlants(request, principal.id());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Imports plants from an NDJSON or CSV request body, in the format the export writes.
+     * The body is read as a stream, so files up to {@code plant-import.max-size} are
+     * accepted without being held in memory.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<PlantImportResult> importPlants(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal UserPrincipal principal,
+            InputStream body
+    ) throws IOException {
+        log.debug("Importing plants for user: {} from {}", principal.id(), format);
+
+        PlantImportResult response = plantImportService.importPlants(
+                principal.id(), PlantExportFormat.fromExtension(format), body);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     public ResponseEntity<List<PlantResponse>> getAllPlants(
             @RequestParam(defaultValue = "name,asc") String sort,
-            Authentication authentication
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal UserPrincipal principal,
+            WebRequest webRequest
     ) {
-        String email = authentication.getName();
-        log.debug("Fetching plants for user: {} with sort: {}", email, sort);
+        log.debug("Fetching plants for user: {} with sort: {}", principal.id(), sort);
+
+        // private, and revalidated on every use instead of Spring Security's no-store
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        String etag = plantListVersions.etag(principal.id());
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
 
         String[] sortParams = sort.split(",");
         String property = sortParams[0];
@@ -64,7 +145,101 @@ public class PlantController {
                 ? Sort.Direction.fromString(sortParams[1])
                 : Sort.Direction.ASC;
 
-        List<PlantResponse> response = plantService.getUserPlants(direction, property, email);
+        PlantPage page = plantService.getUserPlants(direction, property, cursor, limit, principal.id());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag).cacheControl(cacheControl);
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * Streams all of the user's plants as NDJSON or CSV. The rows are written from a
+     * database cursor on an async thread, so the request thread is released at once and
+     * the export never sits in memory.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPlants(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        log.debug("Exporting plants for user: {} as {}", principal.id(), format);
+
+        PlantExportFormat exportFormat = PlantExportFormat.fromExtension(format);
+        UUID userId = principal.id();
+        StreamingResponseBody body = out -> plantExportService.exportPlants(userId, exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("plants." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    /**
+     * Streams the user's committed plant changes as server-sent events named after the
+     * change ({@code created}, {@code renamed}, {@code watered}, {@code rescheduled},
+     * {@code deleted}), or {@code resync} when the client should reload the plant list.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        log.debug("Opening plant event stream for user: {}", principal.id());
+
+        return plantEventBroadcaster.subscribe(principal.id());
+    }
+
+    @GetMapping("/due")
+    public ResponseEntity<List<PlantResponse>> getDuePlants(
+            @RequestParam(required = false) Instant before,
+            @RequestParam(defaultValue = "100") int limit,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        log.debug("Fetching plants due for watering for user: {}", principal.id());
+
+        Instant dueBefore = before != null ? before : Instant.now();
+        List<PlantResponse> response = plantService.getDuePlants(dueBefore, limit, principal.id());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<PlantStatsResponse> getStats(
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        log.debug("Fetching plant statistics for user: {}", principal.id());
+
+        return ResponseEntity.ok(plantStatsService.getStats(principal.id()));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PlantResponse> getPlant(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        log.debug("Fetching plant: {} for user: {}", id, principal.id());
+
+        PlantResponse response = plantService.getPlant(id, principal.id());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/waterings")
+    public ResponseEntity<List<WateringResponse>> getWaterings(
+            @PathVariable UUID id,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "100") int limit,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        log.debug("Fetching waterings of plant: {} for user: {}", id, principal.id());
+
+        List<WateringResponse> response = plantService.getWaterings(id, principal.id(),
+                from != null ? from : Instant.EPOCH,
+                to != null ? to : Instant.now().plusSeconds(1),
+                limit);
         return ResponseEntity.ok(response);
     }
 
@@ -72,25 +247,46 @@ public class PlantController {
     public ResponseEntity<PlantResponse> updatePlantName(
         @PathVariable UUID id,
         @Valid @RequestBody UpdatePlantNameRequest request,
-        Authentication authentication
+        @AuthenticationPrincipal UserPrincipal principal
     ) {
-        String email = authentication.getName();
-        log.debug("Updating name for plant: {} by user: {}", id, email);
+        log.debug("Updating name for plant: {} by user: {}", id, principal.id());
 
-        PlantResponse response = plantService.updatePlantName(id, email, request.name());
+        PlantResponse response = plantService.updatePlantName(id, principal.id(), request.name());
         return ResponseEntity.ok(response);
     }
 
     @PatchMapping("/{id}/last-watered")
     public ResponseEntity<PlantResponse> updateLastWateredAt(
             @PathVariable UUID id,
-            Authentication authentication
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+
+        log.debug("Updating last watered time for plant: {} by user: {}", id, principal.id());
+
+        PlantResponse response = plantService.updateLastWateredAt(id, principal.id());
+        return ResponseEntity.ok(response);
+    }
+
+    @PatchMapping("/{id}/watering-interval")
+    public ResponseEntity<PlantResponse> updateWateringInterval(
+            @PathVariable UUID id,
+            @Valid @RequestBody UpdateWateringIntervalRequest request,
+            @AuthenticationPrincipal UserPrincipal principal
     ) {
+        log.debug("Updating watering interval for plant: {} by user: {}", id, principal.id());
 
-        String email = authentication.getName();
-        log.debug("Updating last watered time for plant: {} by user: {}", id, email);
+        PlantResponse response = plantService.updateWateringInterval(id, principal.id(), request.wateringIntervalDays());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/watered")
+    public ResponseEntity<List<PlantResponse>> waterPlants(
+            @Valid @RequestBody WaterPlantsRequest request,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        log.debug("Watering plants for user: {}", principal.id());
 
-        PlantResponse response = plantService.updateLastWateredAt(id, email);
+        List<PlantResponse> response = plantService.waterPlants(request, principal.id());
         return ResponseEntity.ok(response);
     }
 
@@ -98,10 +294,9 @@ public class PlantController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deletePlant(
             @PathVariable UUID id,
-            Authentication authentication
+            @AuthenticationPrincipal UserPrincipal principal
             ) {
-        String email = authentication.getName();
-        log.debug("Deleting plant: {} for user {}", id, email);
-        plantService.deletePlant(id, email);
+        log.debug("Deleting plant: {} for user {}", id, principal.id());
+        plantService.deletePlant(id, principal.id());
     }
 }
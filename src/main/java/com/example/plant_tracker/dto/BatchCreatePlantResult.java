@@ -0,0 +1,28 @@
+package com.example.plant_tracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+public record BatchCreatePlantResult(
+        @Schema(example = "Oleander", description = "Plant name")
+        String name,
+        @Schema(example = "CREATED", description = "Whether the plant was created or its name was already taken")
+        Status status,
+        @Schema(description = "Id of the created plant, null on conflict")
+        UUID id
+) {
+
+    public enum Status {
+        CREATED,
+        CONFLICT
+    }
+
+    public static BatchCreatePlantResult created(String name, UUID id) {
+        return new BatchCreatePlantResult(name, Status.CREATED, id);
+    }
+
+    public static BatchCreatePlantResult conflict(String name) {
+        return new BatchCreatePlantResult(name, Status.CONFLICT, null);
+    }
+}
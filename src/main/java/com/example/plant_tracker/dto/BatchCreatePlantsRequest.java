@@ -0,0 +1,15 @@
+package com.example.plant_tracker.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchCreatePlantsRequest(
+        @NotEmpty(message = "At least one plant must be given")
+        @Size(max = 500, message = "At most 500 plants can be created at once")
+        List<@NotNull @Valid CreatePlantRequest> plants
+) {
+}
@@ -1,6 +1,8 @@
 package com.example.plant_tracker.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -8,6 +10,13 @@ public record CreatePlantRequest(
         @Schema(example = "Oleander", description = "Plant name")
         @NotBlank(message = "Name cannot be blank")
         @Size(min = 3, max = 50, message = "Name must be between 3 and 50 characters")
-        String name
+        String name,
+        @Schema(example = "7", description = "Days between waterings, defaults to 7")
+        @Min(value = 1, message = "Watering interval must be at least 1 day")
+        @Max(value = 365, message = "Watering interval must be at most 365 days")
+        Integer wateringIntervalDays
 ) {
+    public CreatePlantRequest(String name) {
+        this(name, null);
+    }
 }
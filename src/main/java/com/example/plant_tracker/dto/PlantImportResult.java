@@ -0,0 +1,22 @@
+package com.example.plant_tracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record PlantImportResult(
+        @Schema(description = "Plants added")
+        long imported,
+        @Schema(description = "Rows skipped because the user already has a plant with that name")
+        long conflicts,
+        @Schema(description = "Rows skipped because an earlier row in the file has the same name")
+        long duplicates,
+        @Schema(description = "Rows that could not be read or failed validation")
+        long rejected,
+        @Schema(description = "The first rejected rows, with the reason")
+        List<RejectedLine> rejectedLines
+) {
+
+    public record RejectedLine(long line, String reason) {
+    }
+}
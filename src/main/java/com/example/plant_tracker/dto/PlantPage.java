@@ -0,0 +1,12 @@
+package com.example.plant_tracker.dto;
+
+import java.util.List;
+
+/**
+ * One page of a user's plants. {@code nextCursor} is null on the last page.
+ */
+public record PlantPage(
+        List<PlantResponse> items,
+        String nextCursor
+) {
+}
@@ -3,13 +3,16 @@ package com.example.plant_tracker.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.util.UUID;
 
 public record PlantResponse(
         UUID id,
         @Schema(example = "Oleander", description = "Plant name")
         String name,
-        Instant lastWateredAt
+        Instant lastWateredAt,
+        @Schema(example = "7", description = "Days between waterings")
+        int wateringIntervalDays,
+        @Schema(description = "When the plant is next due for watering")
+        Instant nextDueAt
 ) {
 }
@@ -0,0 +1,16 @@
+package com.example.plant_tracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record PlantStatsResponse(
+        @Schema(example = "12", description = "Number of plants")
+        int totalPlants,
+        @Schema(example = "3", description = "Plants past their next due time")
+        int overduePlants,
+        @Schema(example = "6.5", description = "Average days between waterings of a plant over the last 90 days,"
+                + " null when nothing was watered")
+        Double averageDaysBetweenWaterings,
+        @Schema(description = "Waterings per day over the last 90 days, oldest first, today last")
+        int[] wateringsPerDay
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.plant_tracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+public record RevokeTokenRequest(
+
+        @Schema(description = "JWT to revoke, as returned by login or registration")
+        @NotBlank
+        String token
+        ) {
+}
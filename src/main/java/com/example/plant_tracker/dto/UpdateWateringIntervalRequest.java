@@ -0,0 +1,13 @@
+package com.example.plant_tracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record UpdateWateringIntervalRequest(
+        @Schema(example = "7", description = "Days between waterings")
+        @Min(value = 1, message = "Watering interval must be at least 1 day")
+        @Max(value = 365, message = "Watering interval must be at most 365 days")
+        int wateringIntervalDays
+) {
+}
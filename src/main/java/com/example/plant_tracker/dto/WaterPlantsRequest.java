@@ -0,0 +1,25 @@
+package com.example.plant_tracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record WaterPlantsRequest(
+        @Schema(description = "Ids of the plants that were watered")
+        @Size(max = 1000, message = "At most 1000 plants can be watered at once")
+        List<@NotNull UUID> plantIds,
+        @Schema(example = "false", description = "Water all of the user's plants instead of the listed ones")
+        boolean all
+) {
+
+    @JsonIgnore
+    @AssertTrue(message = "Either plantIds or all must be given")
+    public boolean isTargetGiven() {
+        return all || (plantIds != null && !plantIds.isEmpty());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.plant_tracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+public record WateringResponse(
+        @Schema(description = "When the plant was watered")
+        Instant wateredAt
+) {
+}
@@ -0,0 +1,31 @@
+package com.example.plant_tracker.event;
+
+import com.example.plant_tracker.dto.PlantResponse;
+
+import java.util.UUID;
+
+/**
+ * Published by the plant service for every change to a plant. Listeners that act on
+ * the stored state subscribe with {@code @TransactionalEventListener}, so they only see
+ * changes that were committed.
+ *
+ * @param plant state of the plant after the change, or {@code null} when it was deleted
+ */
+public record PlantEvent(Type type, UUID plantId, UUID userId, PlantResponse plant) {
+
+    public enum Type {
+        CREATED,
+        RENAMED,
+        WATERED,
+        RESCHEDULED,
+        DELETED
+    }
+
+    public static PlantEvent of(Type type, PlantResponse plant, UUID userId) {
+        return new PlantEvent(type, plant.id(), userId, plant);
+    }
+
+    public static PlantEvent deleted(UUID plantId, UUID userId) {
+        return new PlantEvent(Type.DELETED, plantId, userId, null);
+    }
+}
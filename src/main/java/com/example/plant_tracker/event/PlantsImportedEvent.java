@@ -0,0 +1,12 @@
+package com.example.plant_tracker.event;
+
+import java.util.UUID;
+
+/**
+ * Published once per bulk import instead of a {@link PlantEvent} for every imported
+ * plant; listeners reload what they need about the user's plants from the database.
+ *
+ * @param imported how many plants were added
+ */
+public record PlantsImportedEvent(UUID userId, long imported) {
+}
@@ -0,0 +1,10 @@
+package com.example.plant_tracker.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published by the reminder scheduler when a plant comes due for watering.
+ */
+public record WateringReminderEvent(UUID plantId, UUID userId, Instant dueAt) {
+}
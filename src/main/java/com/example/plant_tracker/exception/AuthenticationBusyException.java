@@ -0,0 +1,7 @@
+package com.example.plant_tracker.exception;
+
+public class AuthenticationBusyException extends RuntimeException {
+    public AuthenticationBusyException() {
+        super("Too many login and registration requests, try again shortly");
+    }
+}
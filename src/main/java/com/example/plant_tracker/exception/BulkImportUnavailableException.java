@@ -0,0 +1,7 @@
+package com.example.plant_tracker.exception;
+
+public class BulkImportUnavailableException extends RuntimeException {
+    public BulkImportUnavailableException() {
+        super("Bulk import is not available on this database");
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.plant_tracker.exception;
 
 import com.example.plant_tracker.dto.AuthResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -30,6 +31,51 @@ public class GlobalExceptionHandler {
                 .body(ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<String> handleInvalidPageRequest(
+            InvalidPageRequestException ex
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidExportFormatException.class)
+    public ResponseEntity<String> handleInvalidExportFormat(
+            InvalidExportFormatException ex
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ImportTooLargeException.class)
+    public ResponseEntity<String> handleImportTooLarge(
+            ImportTooLargeException ex
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ImportTimeoutException.class)
+    public ResponseEntity<String> handleImportTimeout(
+            ImportTimeoutException ex
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.REQUEST_TIMEOUT)
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(BulkImportUnavailableException.class)
+    public ResponseEntity<String> handleBulkImportUnavailable(
+            BulkImportUnavailableException ex
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_IMPLEMENTED)
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(EmailExistsException.class)
     public ResponseEntity<AuthResponse> handleEmailExists(
             EmailExistsException ex
@@ -47,4 +93,14 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.UNAUTHORIZED)
                 .body(new AuthResponse("", "Invalid credentials", null));
     }
+
+    @ExceptionHandler(AuthenticationBusyException.class)
+    public ResponseEntity<AuthResponse> handleAuthenticationBusy(
+            AuthenticationBusyException ex
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new AuthResponse("", ex.getMessage(), null));
+    }
 }
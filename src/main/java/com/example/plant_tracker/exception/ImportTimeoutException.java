@@ -0,0 +1,9 @@
+package com.example.plant_tracker.exception;
+
+import java.time.Duration;
+
+public class ImportTimeoutException extends RuntimeException {
+    public ImportTimeoutException(Duration maxDuration) {
+        super("Import upload took longer than " + maxDuration.toSeconds() + " seconds");
+    }
+}
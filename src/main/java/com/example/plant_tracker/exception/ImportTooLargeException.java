@@ -0,0 +1,9 @@
+package com.example.plant_tracker.exception;
+
+import org.springframework.util.unit.DataSize;
+
+public class ImportTooLargeException extends RuntimeException {
+    public ImportTooLargeException(DataSize maxSize) {
+        super("Import is larger than " + maxSize.toBytes() + " bytes, split it into smaller files");
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.plant_tracker.exception;
+
+public class InvalidExportFormatException extends RuntimeException {
+
+    public InvalidExportFormatException(String format) {
+        super("Cannot export plants as '" + format + "'");
+    }
+}
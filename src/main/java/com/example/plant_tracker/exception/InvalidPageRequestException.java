@@ -0,0 +1,8 @@
+package com.example.plant_tracker.exception;
+
+public class InvalidPageRequestException extends RuntimeException {
+
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
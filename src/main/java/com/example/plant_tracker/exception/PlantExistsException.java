@@ -2,6 +2,10 @@ package com.example.plant_tracker.exception;
 
 public class PlantExistsException extends RuntimeException {
 
+    public PlantExistsException() {
+        super("One of the plants already exists");
+    }
+
     public PlantExistsException(String plantName) {
         super("Plant '" + plantName + "' already exists");
     }
@@ -0,0 +1,71 @@
+package com.example.plant_tracker.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one operation as a timer per outcome: {@value #SUCCESS}, {@value #REJECTED}
+ * for requests turned down as invalid, or {@value #ERROR}. All three are registered up
+ * front, so recording a call neither looks up a meter nor allocates tags.
+ */
+public final class OutcomeTimer {
+
+    public static final String SUCCESS = "success";
+
+    public static final String REJECTED = "rejected";
+
+    public static final String ERROR = "error";
+
+    private final Timer success;
+
+    private final Timer rejected;
+
+    private final Timer error;
+
+    public OutcomeTimer(MeterRegistry registry, String name, String description, Tags tags,
+                        Duration minimumExpected, Duration maximumExpected) {
+        this.success = register(registry, name, description, tags, SUCCESS, minimumExpected, maximumExpected);
+        this.rejected = register(registry, name, description, tags, REJECTED, minimumExpected, maximumExpected);
+        this.error = register(registry, name, description, tags, ERROR, minimumExpected, maximumExpected);
+    }
+
+    public void success(long startNanos) {
+        record(success, startNanos);
+    }
+
+    public void rejected(long startNanos) {
+        record(rejected, startNanos);
+    }
+
+    public void error(long startNanos) {
+        record(error, startNanos);
+    }
+
+    /**
+     * Registers a timer with the given outcome tag and a latency histogram bounded to the
+     * expected range; the bounds can be overridden through
+     * {@code management.metrics.distribution.*}.
+     */
+    public static Timer register(MeterRegistry registry, String name, String description, Tags tags,
+                                 String outcome, Duration minimumExpected, Duration maximumExpected) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(minimumExpected)
+                .maximumExpectedValue(maximumExpected)
+                .register(registry);
+    }
+
+    /**
+     * Records the time since {@code startNanos}, taken from {@link System#nanoTime()}.
+     */
+    public static void record(Timer timer, long startNanos) {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
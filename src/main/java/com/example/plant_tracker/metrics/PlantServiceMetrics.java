@@ -0,0 +1,64 @@
+package com.example.plant_tracker.metrics;
+
+import com.example.plant_tracker.exception.InvalidPageRequestException;
+import com.example.plant_tracker.exception.PlantExistsException;
+import com.example.plant_tracker.exception.PlantNotFoundException;
+import com.example.plant_tracker.service.PlantService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Times every public {@link PlantService} method as {@code plant.service}, tagged with
+ * the method name and outcome. Runs outside the service's transaction, so the commit is
+ * part of the measured time.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PlantServiceMetrics {
+
+    static final String TIMER = "plant.service";
+
+    private final Map<String, OutcomeTimer> timers;
+
+    public PlantServiceMetrics(MeterRegistry registry) {
+        Map<String, OutcomeTimer> byMethod = new HashMap<>();
+        for (Method method : PlantService.class.getDeclaredMethods()) {
+            if (Modifier.isPublic(method.getModifiers())) {
+                byMethod.computeIfAbsent(method.getName(), name -> new OutcomeTimer(registry, TIMER,
+                        "Plant service calls", Tags.of("method", name),
+                        Duration.ofMillis(1), Duration.ofSeconds(10)));
+            }
+        }
+        this.timers = Map.copyOf(byMethod);
+    }
+
+    @Around("execution(public * com.example.plant_tracker.service.PlantService.*(..))")
+    public Object time(ProceedingJoinPoint call) throws Throwable {
+        OutcomeTimer timer = timers.get(call.getSignature().getName());
+        long start = System.nanoTime();
+        try {
+            Object result = call.proceed();
+            timer.success(start);
+            return result;
+        } catch (PlantNotFoundException | PlantExistsException | InvalidPageRequestException e) {
+            timer.rejected(start);
+            throw e;
+        } catch (Throwable e) {
+            timer.error(start);
+            throw e;
+        }
+    }
+}
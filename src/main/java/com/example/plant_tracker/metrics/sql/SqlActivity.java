@@ -0,0 +1,78 @@
+package com.example.plant_tracker.metrics.sql;
+
+import org.slf4j.MDC;
+
+import java.util.Locale;
+
+/**
+ * SQL statements run on the current thread since the request filter called
+ * {@link #begin()}. Kept per thread, so recording a statement takes no lock; statements
+ * of work handed to other threads are not counted.
+ * <p>
+ * Between {@link #begin()} and {@link #end()} the running totals are also kept in the
+ * {@value SqlActivityFilter#STATEMENTS_KEY} and {@value SqlActivityFilter#TIME_KEY} MDC
+ * entries, so every line logged during the request carries them.
+ */
+final class SqlActivity {
+
+    private static final ThreadLocal<SqlActivity> CURRENT = ThreadLocal.withInitial(SqlActivity::new);
+
+    private int statements;
+
+    private long nanos;
+
+    private long startNanos;
+
+    private boolean tracked;
+
+    static SqlActivity current() {
+        return CURRENT.get();
+    }
+
+    void begin() {
+        statements = 0;
+        nanos = 0;
+        tracked = true;
+        publish();
+    }
+
+    void end() {
+        tracked = false;
+        MDC.remove(SqlActivityFilter.STATEMENTS_KEY);
+        MDC.remove(SqlActivityFilter.TIME_KEY);
+    }
+
+    void started(long nowNanos) {
+        startNanos = nowNanos;
+    }
+
+    /**
+     * Counts the statement started last and returns how long it took.
+     */
+    long finished(long nowNanos) {
+        long elapsed = nowNanos - startNanos;
+        statements++;
+        nanos += elapsed;
+        if (tracked) {
+            publish();
+        }
+        return elapsed;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    long nanos() {
+        return nanos;
+    }
+
+    static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private void publish() {
+        MDC.put(SqlActivityFilter.STATEMENTS_KEY, Integer.toString(statements));
+        MDC.put(SqlActivityFilter.TIME_KEY, millis(nanos));
+    }
+}
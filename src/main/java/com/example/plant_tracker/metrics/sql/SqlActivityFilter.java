@@ -0,0 +1,81 @@
+package com.example.plant_tracker.metrics.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Reports the SQL statements each request ran: their count and total time are kept in the
+ * {@value #STATEMENTS_KEY} and {@value #TIME_KEY} MDC entries from the start of the
+ * request until it ends, updated after every statement, so each line logged while the
+ * request runs and its summary line carry them. They optionally also go into a
+ * {@code Server-Timing} header, added when the response is committed, so it covers the
+ * statements run before the body.
+ */
+public class SqlActivityFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_KEY = "sqlStatements";
+
+    public static final String TIME_KEY = "sqlTimeMs";
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlActivityFilter.class);
+
+    private final boolean serverTiming;
+
+    public SqlActivityFilter(boolean serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlActivity activity = SqlActivity.current();
+        activity.begin();
+        HttpServletResponse observed = serverTiming ? new ServerTimingResponse(response, activity) : response;
+        try {
+            filterChain.doFilter(request, observed);
+        } finally {
+            if (serverTiming && !response.isCommitted()) {
+                // responses without a body, such as 304 and 204, are committed by the container
+                addServerTiming(response, activity);
+            }
+            try {
+                if (log.isDebugEnabled()) {
+                    log.debug("{} {} ran {} SQL statements in {} ms", request.getMethod(), request.getRequestURI(),
+                            activity.statements(), SqlActivity.millis(activity.nanos()));
+                }
+            } finally {
+                activity.end();
+            }
+        }
+    }
+
+    private static void addServerTiming(HttpServletResponse response, SqlActivity activity) {
+        response.setHeader(SERVER_TIMING_HEADER,
+                "db;dur=" + SqlActivity.millis(activity.nanos()) + ";desc=\"" + activity.statements() + " statements\"");
+    }
+
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final SqlActivity activity;
+
+        ServerTimingResponse(HttpServletResponse response, SqlActivity activity) {
+            super(response);
+            this.activity = activity;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addServerTiming((HttpServletResponse) getResponse(), activity);
+        }
+    }
+}
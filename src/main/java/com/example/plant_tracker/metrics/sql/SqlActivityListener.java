@@ -0,0 +1,78 @@
+package com.example.plant_tracker.metrics.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Adds every statement to the current thread's {@link SqlActivity} and logs a sample of
+ * the slow ones. Slow statements are logged with their string literals masked and only
+ * the types of their bind parameters, so no user data reaches the log.
+ */
+class SqlActivityListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlActivityListener.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private final long slowNanos;
+
+    private final double sampleRate;
+
+    SqlActivityListener(Duration slowQueryThreshold, double sampleRate) {
+        this.slowNanos = slowQueryThreshold.toNanos();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlActivity.current().started(System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = SqlActivity.current().finished(System.nanoTime());
+        if (elapsed >= slowNanos && sampled()) {
+            log.warn("Slow SQL statement took {} ms{}: {}", elapsed / 1_000_000,
+                    execInfo.isBatch() ? " for a batch of " + execInfo.getBatchSize() : "", describe(queryInfoList));
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * The statements with string literals replaced by {@code '?'} and the types of the
+     * first set of bind parameters, for example {@code [UUID, Timestamp]}.
+     */
+    static String describe(List<QueryInfo> queryInfoList) {
+        StringJoiner description = new StringJoiner("; ");
+        for (QueryInfo query : queryInfoList) {
+            String sql = STRING_LITERAL.matcher(query.getQuery()).replaceAll("'?'");
+            List<List<ParameterSetOperation>> parameterSets = query.getParametersList();
+            description.add(parameterSets.isEmpty() ? sql : sql + " " + parameterTypes(parameterSets.get(0)));
+        }
+        return description.toString();
+    }
+
+    private static String parameterTypes(List<ParameterSetOperation> parameters) {
+        StringJoiner types = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation parameter : parameters) {
+            Object[] args = parameter.getArgs();
+            // args[0] is the parameter index, the value follows
+            Object value = args.length > 1 ? args[1] : null;
+            types.add(value != null ? value.getClass().getSimpleName() : "null");
+        }
+        return types.toString();
+    }
+}
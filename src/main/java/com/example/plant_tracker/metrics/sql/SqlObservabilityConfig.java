@@ -0,0 +1,48 @@
+package com.example.plant_tracker.metrics.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes the application's data source through a proxy that reports each statement to
+ * {@link SqlActivityListener}, and installs {@link SqlActivityFilter} around requests.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlObservabilityProperties.class)
+@ConditionalOnProperty(prefix = "sql-observability", name = "enabled", matchIfMissing = true)
+public class SqlObservabilityConfig {
+
+    @Bean
+    static BeanPostProcessor sqlObservingDataSourcePostProcessor(ObjectProvider<SqlObservabilityProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                SqlObservabilityProperties sql = properties.getObject();
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(new SqlActivityListener(sql.slowQueryThreshold(), sql.slowQuerySampleRate()))
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlActivityFilter> sqlActivityFilter(SqlObservabilityProperties properties) {
+        FilterRegistrationBean<SqlActivityFilter> registration =
+                new FilterRegistrationBean<>(new SqlActivityFilter(properties.serverTiming()));
+        // ahead of Spring Security, so the login's user lookup is part of the request
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
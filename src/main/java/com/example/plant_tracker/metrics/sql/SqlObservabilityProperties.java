@@ -0,0 +1,23 @@
+package com.example.plant_tracker.metrics.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Per-request SQL statement counts and time, and the slow statement log.
+ *
+ * @param enabled             whether statements are observed at all
+ * @param serverTiming        whether responses carry the request's SQL count and time in a
+ *                            {@code Server-Timing} header, which tells clients about the backend
+ * @param slowQueryThreshold  statements taking at least this long are logged
+ * @param slowQuerySampleRate share of slow statements that are logged, from 0 to 1
+ */
+@ConfigurationProperties("sql-observability")
+public record SqlObservabilityProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("false") boolean serverTiming,
+        @DefaultValue("PT0.5S") Duration slowQueryThreshold,
+        @DefaultValue("1.0") double slowQuerySampleRate) {
+}
@@ -3,20 +3,33 @@ package com.example.plant_tracker.model;
 import jakarta.persistence.*;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = Plant.USER_NAME_CONSTRAINT, columnNames = {"user_id", "name"}))
 public class Plant {
+
+    public static final String USER_NAME_CONSTRAINT = "uk_plant_user_name";
+
+    public static final int DEFAULT_WATERING_INTERVAL_DAYS = 7;
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String name;
 
     private Instant lastWateredAt;
 
-    @ManyToOne
+    @Column(nullable = false)
+    private int wateringIntervalDays = DEFAULT_WATERING_INTERVAL_DAYS;
+
+    private Instant nextDueAt;
+
+    // never read through the plant; eager loading cost every plant lookup a user select
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
@@ -71,4 +84,39 @@ public class Plant {
     public void setLastWateredAt(Instant lastWateredAt) {
         this.lastWateredAt = lastWateredAt;
     }
+
+    public int getWateringIntervalDays() {
+        return wateringIntervalDays;
+    }
+
+    public void setWateringIntervalDays(int wateringIntervalDays) {
+        this.wateringIntervalDays = wateringIntervalDays;
+    }
+
+    public Instant getNextDueAt() {
+        return nextDueAt;
+    }
+
+    public void setNextDueAt(Instant nextDueAt) {
+        this.nextDueAt = nextDueAt;
+    }
+
+    /**
+     * Records a watering and moves the next due time one interval past it.
+     */
+    public void water(Instant wateredAt) {
+        this.lastWateredAt = wateredAt;
+        this.nextDueAt = wateredAt.plus(wateringIntervalDays, ChronoUnit.DAYS);
+    }
+
+    /**
+     * Changes the watering interval. A plant that was watered before is rescheduled one
+     * new interval after that watering; one that never was stays due when it was.
+     */
+    public void changeWateringInterval(int days) {
+        this.wateringIntervalDays = days;
+        if (lastWateredAt != null) {
+            this.nextDueAt = lastWateredAt.plus(days, ChronoUnit.DAYS);
+        }
+    }
 }
@@ -10,6 +10,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "users")
 public class User {
+
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -0,0 +1,54 @@
+package com.example.plant_tracker.repository;
+
+import com.example.plant_tracker.exception.InvalidPageRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last plant on a page: the sort key and id of that row, together with
+ * the sort it was produced under. Encoded as an opaque URL-safe token for clients.
+ */
+public record PlantCursor(
+        PlantSortProperty property,
+        Sort.Direction direction,
+        UUID id,
+        String name,
+        Instant lastWateredAt
+) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String value = switch (property) {
+            case NAME -> name;
+            case LAST_WATERED_AT -> lastWateredAt == null ? "" : lastWateredAt.toString();
+        };
+        String raw = property.fieldName() + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PlantCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4) {
+                throw new InvalidPageRequestException("Invalid cursor");
+            }
+            PlantSortProperty property = PlantSortProperty.fromFieldName(parts[0]);
+            Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+            UUID id = UUID.fromString(parts[2]);
+            return switch (property) {
+                case NAME -> new PlantCursor(property, direction, id, parts[3], null);
+                case LAST_WATERED_AT -> new PlantCursor(property, direction, id, null,
+                        parts[3].isEmpty() ? null : Instant.parse(parts[3]));
+            };
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidPageRequestException("Invalid cursor");
+        }
+    }
+}
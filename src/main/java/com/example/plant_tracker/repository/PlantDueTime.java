@@ -0,0 +1,10 @@
+package com.example.plant_tracker.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * When a plant is next due, read without loading the plant or its owner.
+ */
+public record PlantDueTime(UUID plantId, UUID userId, Instant nextDueAt) {
+}
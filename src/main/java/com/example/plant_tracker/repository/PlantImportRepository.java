@@ -0,0 +1,146 @@
+package com.example.plant_tracker.repository;
+
+import com.example.plant_tracker.exception.BulkImportUnavailableException;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Bulk loads plants through a temporary staging table filled with PostgreSQL
+ * {@code COPY}, then merges it into {@code plant} with one statement. The rows are
+ * first written to a local file with a {@link RowWriter}, so that the copy runs at disk
+ * speed rather than at the client's upload speed. The copy and the merge run on the
+ * connection of the surrounding transaction: the staging table is dropped when it commits.
+ */
+@Repository
+public class PlantImportRepository {
+
+    private static final String CREATE_STAGING = "create temporary table plant_import ("
+            + "line bigint not null, name varchar(255) not null, watering_interval_days integer not null,"
+            + " last_watered_at timestamp(6) with time zone) on commit drop";
+
+    private static final String COPY_STAGING = "copy plant_import (line, name, watering_interval_days, last_watered_at)"
+            + " from stdin (format csv)";
+
+    /**
+     * Keeps the first row for every name in the file, inserts the ones the user does not
+     * have yet and counts what happened to the rest.
+     */
+    private static final String MERGE = """
+            with candidates as (
+                select distinct on (name) line, name, watering_interval_days, last_watered_at
+                from plant_import
+                order by name, line
+            ), inserted as (
+                insert into plant (id, user_id, name, last_watered_at, watering_interval_days, next_due_at)
+                select gen_random_uuid(), ?, name, last_watered_at, watering_interval_days,
+                       coalesce(last_watered_at + watering_interval_days * interval '1 day', ?)
+                from candidates
+                order by line
+                on conflict (user_id, name) do nothing
+                returning 1
+            )
+            select (select count(*) from plant_import), (select count(*) from candidates), (select count(*) from inserted)
+            """;
+
+    /** Rows are sent to the server in chunks of this many bytes. */
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean supported;
+
+    public PlantImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Whether the database can bulk import, which takes PostgreSQL's {@code COPY}.
+     */
+    public boolean isSupported() {
+        Boolean result = supported;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    connection.isWrapperFor(PGConnection.class));
+            supported = result;
+        }
+        return result;
+    }
+
+    /**
+     * Creates the staging table and copies the rows written by a {@link RowWriter} into it.
+     */
+    public void stage(InputStream rows) {
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                throw new BulkImportUnavailableException();
+            }
+            try (var statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING);
+            }
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING, rows, CHUNK_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read staged plants", e);
+            }
+        });
+    }
+
+    /**
+     * Moves the staged rows into the user's plants. Plants that were never watered are
+     * due at {@code now}, like plants created one by one.
+     */
+    public MergeResult merge(UUID userId, Instant now) {
+        jdbcTemplate.execute("analyze plant_import");
+        return jdbcTemplate.queryForObject(MERGE, (rs, rowNum) -> new MergeResult(
+                rs.getLong(1), rs.getLong(2), rs.getLong(3)), userId, now.atOffset(ZoneOffset.UTC));
+    }
+
+    /**
+     * @param staged   rows copied into the staging table
+     * @param distinct staged rows left after dropping repeated names
+     * @param inserted rows added to the plant table
+     */
+    public record MergeResult(long staged, long distinct, long inserted) {
+    }
+
+    /**
+     * Writes rows in the CSV format the staging {@code COPY} reads.
+     */
+    public static final class RowWriter implements Closeable {
+
+        private final Writer out;
+
+        public RowWriter(OutputStream out) {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CHUNK_SIZE);
+        }
+
+        public void add(long line, String name, int wateringIntervalDays, Instant lastWateredAt) throws IOException {
+            out.append(Long.toString(line)).append(",\"").append(name.replace("\"", "\"\"")).append("\",")
+                    .append(Integer.toString(wateringIntervalDays)).append(',');
+            if (lastWateredAt != null) {
+                out.append(lastWateredAt.toString());
+            }
+            out.append('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
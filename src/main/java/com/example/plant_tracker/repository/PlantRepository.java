@@ -1,19 +1,83 @@
 package com.example.plant_tracker.repository;
 
+import com.example.plant_tracker.dto.PlantResponse;
 import com.example.plant_tracker.model.Plant;
-import com.example.plant_tracker.model.User;
-import org.springframework.data.domain.Sort;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface PlantRepository extends JpaRepository<Plant, UUID> {
+public interface PlantRepository extends JpaRepository<Plant, UUID>, PlantRepositoryCustom {
 
-    boolean existsByName(String name);
+    String SELECT_PLANT_RESPONSE = "select new com.example.plant_tracker.dto.PlantResponse("
+            + "p.id, p.name, p.lastWateredAt, p.wateringIntervalDays, p.nextDueAt)";
 
-    List<Plant> findAllByUser(User user, Sort sort);
+    @Query("select p.name from Plant p where p.user.id = :userId and p.name in :names")
+    List<String> findExistingNames(UUID userId, Collection<String> names);
 
-    Optional<Plant> findByIdAndUser(UUID id, User user);
+    Optional<Plant> findByIdAndUserId(UUID id, UUID userId);
+
+    boolean existsByIdAndUserId(UUID id, UUID userId);
+
+    @Query(SELECT_PLANT_RESPONSE + " from Plant p where p.id = :id and p.user.id = :userId")
+    Optional<PlantResponse> findResponseByIdAndUserId(UUID id, UUID userId);
+
+    @Query(SELECT_PLANT_RESPONSE + " from Plant p where p.user.id = :userId and p.nextDueAt <= :before"
+            + " order by p.nextDueAt, p.id")
+    List<PlantResponse> findDueByUserId(UUID userId, Instant before, Limit limit);
+
+    /**
+     * Streams all of the user's plants by name, for export. Must be consumed inside a
+     * transaction; rows are read as DTOs, so nothing piles up in the persistence context.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_PLANT_RESPONSE + " from Plant p where p.user.id = :userId order by p.name")
+    Stream<PlantResponse> streamByUserId(UUID userId);
+
+    /**
+     * Streams the due times still ahead of {@code after}. Must be consumed inside a
+     * transaction; rows are fetched from the server in chunks rather than all at once.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.plant_tracker.repository.PlantDueTime(p.id, p.user.id, p.nextDueAt)"
+            + " from Plant p where p.nextDueAt > :after")
+    Stream<PlantDueTime> streamDueAfter(Instant after);
+
+    /**
+     * Streams the due times at or before {@code before}, that is the overdue plants.
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.plant_tracker.repository.PlantDueTime(p.id, p.user.id, p.nextDueAt)"
+            + " from Plant p where p.nextDueAt <= :before")
+    Stream<PlantDueTime> streamDueBefore(Instant before);
+
+    /**
+     * Streams the due times of all of the user's plants. Must be consumed inside a
+     * transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.plant_tracker.repository.PlantDueTime(p.id, p.user.id, p.nextDueAt)"
+            + " from Plant p where p.user.id = :userId")
+    Stream<PlantDueTime> streamDueTimesByUserId(UUID userId);
+
+    long countByUserId(UUID userId);
+
+    @Query("select new com.example.plant_tracker.repository.UserPlantCount(p.user.id, count(p))"
+            + " from Plant p group by p.user.id")
+    List<UserPlantCount> countByUser();
+
+    @Modifying
+    @Query("delete from Plant p where p.id = :id and p.user.id = :userId")
+    int deleteByIdAndUserId(UUID id, UUID userId);
 }
@@ -0,0 +1,32 @@
+package com.example.plant_tracker.repository;
+
+import com.example.plant_tracker.dto.PlantResponse;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface PlantRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} of the user's plants ordered by {@code property} and then
+     * id, starting right after {@code after} (or from the beginning when it is null).
+     * Null watering times sort last in both directions. Rows are projected straight into
+     * {@link PlantResponse}, so no entities enter the persistence context.
+     */
+    List<PlantResponse> findPageByUserId(UUID userId, PlantSortProperty property, Sort.Direction direction,
+                                 PlantCursor after, int limit);
+
+    /**
+     * Returns all of the user's plants in the order {@link #findPageByUserId} pages them.
+     */
+    List<PlantResponse> findSortedByUserId(UUID userId, PlantSortProperty property, Sort.Direction direction);
+
+    /**
+     * Stamps {@code wateredAt} on the listed plants of the user, or on all of them when
+     * {@code ids} is null, and returns exactly the updated rows, in one statement.
+     */
+    List<PlantResponse> markWatered(UUID userId, Collection<UUID> ids, Instant wateredAt);
+}
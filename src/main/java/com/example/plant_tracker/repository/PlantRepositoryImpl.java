@@ -0,0 +1,127 @@
+package com.example.plant_tracker.repository;
+
+import com.example.plant_tracker.dto.PlantResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+class PlantRepositoryImpl implements PlantRepositoryCustom {
+
+    private static final String AFTER_NULL = " and %1$s is null and p.id %2$s :afterId";
+
+    // PostgreSQL starts the index scan at the row-value comparison; the plain bound keeps
+    // it a range scan on databases where Hibernate expands the tuple into ors
+    private static final String AFTER_VALUE =
+            " and %1$s %3$s :afterValue and (%1$s, p.id) %2$s (:afterValue, :afterId)";
+
+    private static final String NULLS_ONLY = " and %1$s is null";
+
+    private static final String MARK_WATERED = "update plant set last_watered_at = :wateredAt,"
+            + " next_due_at = cast(:wateredAt as timestamp(6) with time zone) + watering_interval_days * interval '1' day"
+            + " where user_id = :userId%s";
+
+    private static final String WATERED_COLUMNS = "id, name, last_watered_at, watering_interval_days, next_due_at";
+
+    private volatile Boolean postgres;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PlantResponse> findPageByUserId(UUID userId, PlantSortProperty property, Sort.Direction direction,
+                                                PlantCursor after, int limit) {
+        if (after == null) {
+            return query(userId, property, direction, "", limit).getResultList();
+        }
+        Object afterValue = property == PlantSortProperty.NAME ? after.name() : after.lastWateredAt();
+        if (afterValue == null) {
+            return query(userId, property, direction, AFTER_NULL, limit)
+                    .setParameter("afterId", after.id())
+                    .getResultList();
+        }
+        List<PlantResponse> page = new ArrayList<>(query(userId, property, direction, AFTER_VALUE, limit)
+                .setParameter("afterValue", afterValue)
+                .setParameter("afterId", after.id())
+                .getResultList());
+        if (property == PlantSortProperty.LAST_WATERED_AT && page.size() < limit) {
+            // never-watered plants follow in both directions; a separate range keeps
+            // each query a single index scan
+            page.addAll(query(userId, property, direction, NULLS_ONLY, limit - page.size()).getResultList());
+        }
+        return page;
+    }
+
+    @Override
+    public List<PlantResponse> findSortedByUserId(UUID userId, PlantSortProperty property, Sort.Direction direction) {
+        return query(userId, property, direction, "", 0).getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PlantResponse> markWatered(UUID userId, Collection<UUID> ids, Instant wateredAt) {
+        String update = MARK_WATERED.formatted(ids != null ? " and id in (:ids)" : "");
+        // both return the updated rows from the statement itself; H2, which stands in for
+        // PostgreSQL in tests, has no RETURNING but reads the rows from a delta table
+        String sql = isPostgres()
+                ? update + " returning " + WATERED_COLUMNS
+                : "select " + WATERED_COLUMNS + " from final table (" + update + ")";
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", UUID.class)
+                .addScalar("name", String.class)
+                .addScalar("last_watered_at", Instant.class)
+                .addScalar("watering_interval_days", Integer.class)
+                .addScalar("next_due_at", Instant.class)
+                .setParameter("userId", userId)
+                .setParameter("wateredAt", wateredAt);
+        if (ids != null) {
+            query.setParameterList("ids", ids);
+        }
+        return query.getResultList().stream()
+                .map(row -> new PlantResponse((UUID) row[0], (String) row[1], (Instant) row[2], (Integer) row[3],
+                        (Instant) row[4]))
+                .toList();
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+            postgres = result;
+        }
+        return result;
+    }
+
+    private TypedQuery<PlantResponse> query(UUID userId, PlantSortProperty property, Sort.Direction direction,
+                                            String keyset, int limit) {
+        String column = "p." + property.fieldName();
+        String comparison = direction.isAscending() ? ">" : "<";
+        String bound = direction.isAscending() ? ">=" : "<=";
+        String order = direction.isAscending() ? "asc" : "desc";
+        // names are never null; leaving out the nulls clause lets a backward index scan serve desc
+        String nulls = property == PlantSortProperty.LAST_WATERED_AT ? " nulls last" : "";
+
+        String jpql = PlantRepository.SELECT_PLANT_RESPONSE
+                + " from Plant p where p.user.id = :userId"
+                + keyset.formatted(column, comparison, bound)
+                + " order by %1$s %2$s%3$s, p.id %2$s".formatted(column, order, nulls);
+
+        TypedQuery<PlantResponse> query = entityManager.createQuery(jpql, PlantResponse.class)
+                .setParameter("userId", userId);
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        return query;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.plant_tracker.repository;
+
+import com.example.plant_tracker.exception.InvalidPageRequestException;
+
+/**
+ * Plant fields the plant list can be sorted and paged by.
+ */
+public enum PlantSortProperty {
+    NAME("name"),
+    LAST_WATERED_AT("lastWateredAt");
+
+    private final String fieldName;
+
+    PlantSortProperty(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    public static PlantSortProperty fromFieldName(String fieldName) {
+        for (PlantSortProperty property : values()) {
+            if (property.fieldName.equals(fieldName)) {
+                return property;
+            }
+        }
+        throw new InvalidPageRequestException("Cannot sort plants by '" + fieldName + "'");
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.plant_tracker.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A revoked token, by its {@code jti} claim, and the time the token expires anyway.
+ */
+public record RevokedToken(UUID jti, Instant expiresAt) {
+}
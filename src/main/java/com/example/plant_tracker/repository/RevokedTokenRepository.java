@@ -0,0 +1,45 @@
+package com.example.plant_tracker.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Plain JDBC access to the revoked token table, which is read in full into memory and
+ * never queried per request.
+ */
+@Repository
+public class RevokedTokenRepository {
+
+    private static final String INSERT =
+            "insert into revoked_token (jti, expires_at) values (?, ?) on conflict do nothing";
+
+    private static final String SELECT_UNEXPIRED = "select jti, expires_at from revoked_token where expires_at > ?";
+
+    private static final String DELETE_EXPIRED = "delete from revoked_token where expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RevokedTokenRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(RevokedToken token) {
+        jdbcTemplate.update(INSERT, token.jti(), token.expiresAt().atOffset(ZoneOffset.UTC));
+    }
+
+    public List<RevokedToken> findUnexpired(Instant now) {
+        return jdbcTemplate.query(SELECT_UNEXPIRED, (rs, rowNum) -> new RevokedToken(
+                rs.getObject(1, UUID.class),
+                rs.getObject(2, OffsetDateTime.class).toInstant()), now.atOffset(ZoneOffset.UTC));
+    }
+
+    public int deleteExpired(Instant now) {
+        return jdbcTemplate.update(DELETE_EXPIRED, now.atOffset(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.plant_tracker.repository;
+
+import java.util.UUID;
+
+public record UserPlantCount(UUID userId, long plants) {
+}
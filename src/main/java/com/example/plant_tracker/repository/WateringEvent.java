@@ -0,0 +1,10 @@
+package com.example.plant_tracker.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One row of the append-only watering log.
+ */
+public record WateringEvent(UUID plantId, UUID userId, Instant wateredAt) {
+}
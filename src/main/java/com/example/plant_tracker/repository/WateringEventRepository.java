@@ -0,0 +1,77 @@
+package com.example.plant_tracker.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to the watering log. The table is partitioned by month on
+ * PostgreSQL, which JPA has no use for, and rows are only ever appended.
+ */
+@Repository
+public class WateringEventRepository {
+
+    private static final String INSERT =
+            "insert into watering_event (plant_id, user_id, watered_at) values (?, ?, ?)";
+
+    private static final String SELECT_BY_PLANT = "select watered_at from watering_event"
+            + " where plant_id = ? and watered_at >= ? and watered_at < ?"
+            + " order by watered_at desc limit ?";
+
+    private static final String SELECT_SINCE = "select plant_id, user_id, watered_at from watering_event"
+            + " where watered_at >= ?";
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WateringEventRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the events as one JDBC batch, which the PostgreSQL driver sends as
+     * multi-row inserts ({@code reWriteBatchedInserts}).
+     */
+    public void insertAll(List<WateringEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (statement, event) -> {
+            statement.setObject(1, event.plantId());
+            statement.setObject(2, event.userId());
+            statement.setObject(3, event.wateredAt().atOffset(ZoneOffset.UTC));
+        });
+    }
+
+    /**
+     * Passes every watering since {@code since} to {@code action} without holding them
+     * all in memory. Rows are only fetched in chunks inside a transaction.
+     */
+    public void forEachSince(Instant since, Consumer<WateringEvent> action) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_SINCE);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setObject(1, since.atOffset(ZoneOffset.UTC));
+            return statement;
+        }, (RowCallbackHandler) rs -> action.accept(new WateringEvent(
+                rs.getObject(1, UUID.class),
+                rs.getObject(2, UUID.class),
+                rs.getObject(3, OffsetDateTime.class).toInstant())));
+    }
+
+    /**
+     * Returns the plant's waterings in {@code [from, to)}, newest first. The time bounds
+     * let PostgreSQL skip the partitions outside the range.
+     */
+    public List<Instant> findByPlantId(UUID plantId, Instant from, Instant to, int limit) {
+        return jdbcTemplate.query(SELECT_BY_PLANT,
+                (rs, rowNum) -> rs.getObject(1, OffsetDateTime.class).toInstant(),
+                plantId, from.atOffset(ZoneOffset.UTC), to.atOffset(ZoneOffset.UTC), limit);
+    }
+}
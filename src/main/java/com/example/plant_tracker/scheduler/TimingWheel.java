@@ -0,0 +1,278 @@
+package com.example.plant_tracker.scheduler;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Hierarchical timing wheel holding one timer per plant. Four levels of 64 slots cover
+ * 2^24 ticks; a timer sits in the level matching how far away it is and moves down a
+ * level each time the wheel reaches its slot, so scheduling, rescheduling and cancelling
+ * are O(1) no matter how many timers are pending.
+ * <p>
+ * Timers live in parallel primitive arrays linked into intrusive doubly linked slot
+ * lists, and are found by plant id through an open-addressing index, so a pending timer
+ * costs about 60 bytes and no objects. The arrays grow up to {@code maxTimers} and never
+ * beyond it. Not thread-safe.
+ */
+final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+    private static final int NIL = -1;
+
+    /** Receives the timers that expire while the wheel advances. */
+    @FunctionalInterface
+    interface ExpiryHandler {
+        void expired(UUID plantId, UUID userId, long deadline);
+    }
+
+    private final int maxTimers;
+
+    private final int[] heads = new int[LEVELS * SLOTS];
+
+    private long[] deadlines;
+    private int[] next;
+    private int[] prev;
+    private int[] buckets;
+    private long[] plantHigh;
+    private long[] plantLow;
+    private long[] userHigh;
+    private long[] userLow;
+
+    private int[] index;
+    private int indexMask;
+
+    private int allocated;
+    private int freeList = NIL;
+    private int size;
+    private long currentTick;
+
+    TimingWheel(int initialCapacity, int maxTimers, long startTick) {
+        this.maxTimers = maxTimers;
+        this.currentTick = startTick;
+        Arrays.fill(heads, NIL);
+        allocate(Math.max(1, Math.min(initialCapacity, maxTimers)));
+    }
+
+    int size() {
+        return size;
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Sets the plant's timer to fire at {@code deadline}, replacing any timer it already
+     * has. Deadlines that already passed fire on the next tick. Returns {@code false}
+     * when the wheel is full and the timer could not be added.
+     */
+    boolean schedule(UUID plantId, UUID userId, long deadline) {
+        int node = find(plantId.getMostSignificantBits(), plantId.getLeastSignificantBits());
+        if (node != NIL) {
+            unlink(node);
+        } else {
+            node = newNode();
+            if (node == NIL) {
+                return false;
+            }
+            plantHigh[node] = plantId.getMostSignificantBits();
+            plantLow[node] = plantId.getLeastSignificantBits();
+            indexInsert(node);
+            size++;
+        }
+        userHigh[node] = userId.getMostSignificantBits();
+        userLow[node] = userId.getLeastSignificantBits();
+        deadlines[node] = Math.max(deadline, currentTick + 1);
+        link(node);
+        return true;
+    }
+
+    boolean cancel(UUID plantId) {
+        int node = find(plantId.getMostSignificantBits(), plantId.getLeastSignificantBits());
+        if (node == NIL) {
+            return false;
+        }
+        unlink(node);
+        release(node);
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to {@code tick}, handing every timer that expires on the
+     * way to {@code handler}, tick by tick.
+     */
+    void advanceTo(long tick, ExpiryHandler handler) {
+        while (currentTick < tick) {
+            long now = ++currentTick;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                int shift = SLOT_BITS * level;
+                if ((now & ((1L << shift) - 1)) == 0) {
+                    cascade(level * SLOTS + (int) ((now >>> shift) & SLOT_MASK));
+                }
+            }
+            expire((int) (now & SLOT_MASK), handler);
+        }
+    }
+
+    void clear() {
+        Arrays.fill(heads, NIL);
+        Arrays.fill(buckets, 0, allocated, NIL);
+        Arrays.fill(index, 0);
+        allocated = 0;
+        freeList = NIL;
+        size = 0;
+    }
+
+    private void cascade(int bucket) {
+        int node = heads[bucket];
+        heads[bucket] = NIL;
+        while (node != NIL) {
+            int following = next[node];
+            link(node);
+            node = following;
+        }
+    }
+
+    private void expire(int bucket, ExpiryHandler handler) {
+        int node = heads[bucket];
+        heads[bucket] = NIL;
+        while (node != NIL) {
+            int following = next[node];
+            handler.expired(new UUID(plantHigh[node], plantLow[node]),
+                    new UUID(userHigh[node], userLow[node]), deadlines[node]);
+            release(node);
+            node = following;
+        }
+    }
+
+    /**
+     * Puts the node into the slot for its deadline: the lowest level whose range still
+     * reaches it. Deadlines past the top level's range wait in its farthest slot and are
+     * placed again when that slot comes round.
+     */
+    private void link(int node) {
+        long at = Math.min(deadlines[node], currentTick + SPAN - 1);
+        long delta = at - currentTick;
+        int level = delta < SLOTS ? 0 : (63 - Long.numberOfLeadingZeros(delta)) / SLOT_BITS;
+        int bucket = level * SLOTS + (int) ((at >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+        int head = heads[bucket];
+        buckets[node] = bucket;
+        prev[node] = NIL;
+        next[node] = head;
+        if (head != NIL) {
+            prev[head] = node;
+        }
+        heads[bucket] = node;
+    }
+
+    private void unlink(int node) {
+        int before = prev[node];
+        int after = next[node];
+        if (before == NIL) {
+            heads[buckets[node]] = after;
+        } else {
+            next[before] = after;
+        }
+        if (after != NIL) {
+            prev[after] = before;
+        }
+    }
+
+    private int newNode() {
+        if (freeList != NIL) {
+            int node = freeList;
+            freeList = next[node];
+            return node;
+        }
+        if (allocated == deadlines.length) {
+            if (allocated == maxTimers) {
+                return NIL;
+            }
+            allocate((int) Math.min(maxTimers, allocated * 2L));
+        }
+        return allocated++;
+    }
+
+    private void release(int node) {
+        indexRemove(node);
+        buckets[node] = NIL;
+        next[node] = freeList;
+        freeList = node;
+        size--;
+    }
+
+    private void allocate(int capacity) {
+        int previous = deadlines == null ? 0 : deadlines.length;
+        deadlines = deadlines == null ? new long[capacity] : Arrays.copyOf(deadlines, capacity);
+        next = next == null ? new int[capacity] : Arrays.copyOf(next, capacity);
+        prev = prev == null ? new int[capacity] : Arrays.copyOf(prev, capacity);
+        buckets = buckets == null ? new int[capacity] : Arrays.copyOf(buckets, capacity);
+        plantHigh = plantHigh == null ? new long[capacity] : Arrays.copyOf(plantHigh, capacity);
+        plantLow = plantLow == null ? new long[capacity] : Arrays.copyOf(plantLow, capacity);
+        userHigh = userHigh == null ? new long[capacity] : Arrays.copyOf(userHigh, capacity);
+        userLow = userLow == null ? new long[capacity] : Arrays.copyOf(userLow, capacity);
+        Arrays.fill(buckets, previous, capacity, NIL);
+
+        // keep the index at most half full
+        index = new int[Integer.highestOneBit(capacity) << 2];
+        indexMask = index.length - 1;
+        for (int node = 0; node < previous; node++) {
+            if (buckets[node] != NIL) {
+                indexInsert(node);
+            }
+        }
+    }
+
+    // index slots hold node + 1 so that 0 marks an empty slot
+
+    private int find(long high, long low) {
+        for (int i = hash(high, low) & indexMask; ; i = (i + 1) & indexMask) {
+            int entry = index[i];
+            if (entry == 0) {
+                return NIL;
+            }
+            int node = entry - 1;
+            if (plantHigh[node] == high && plantLow[node] == low) {
+                return node;
+            }
+        }
+    }
+
+    private void indexInsert(int node) {
+        int i = hash(plantHigh[node], plantLow[node]) & indexMask;
+        while (index[i] != 0) {
+            i = (i + 1) & indexMask;
+        }
+        index[i] = node + 1;
+    }
+
+    /**
+     * Removes the node and shifts later entries of its probe run back into the gap, so
+     * lookups never need tombstones.
+     */
+    private void indexRemove(int node) {
+        int hole = hash(plantHigh[node], plantLow[node]) & indexMask;
+        while (index[hole] != node + 1) {
+            hole = (hole + 1) & indexMask;
+        }
+        for (int i = (hole + 1) & indexMask; index[i] != 0; i = (i + 1) & indexMask) {
+            int entry = index[i];
+            int home = hash(plantHigh[entry - 1], plantLow[entry - 1]) & indexMask;
+            if (((i - home) & indexMask) >= ((i - hole) & indexMask)) {
+                index[hole] = entry;
+                hole = i;
+            }
+        }
+        index[hole] = 0;
+    }
+
+    private static int hash(long high, long low) {
+        long mixed = (high ^ low) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.plant_tracker.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of the PostgreSQL watering log: creates the partitions
+ * for the coming months ahead of time and, when a retention is set, drops whole
+ * partitions once they fall out of it instead of deleting their rows.
+ */
+@Component
+@ConditionalOnProperty(name = "watering-events.partitioning.enabled", havingValue = "true")
+public class WateringEventPartitionMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(WateringEventPartitionMaintainer.class);
+
+    private static final int MONTHS_AHEAD = 2;
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("watering_event_p(\\d{4})_(\\d{2})");
+
+    private static final String SELECT_PARTITIONS = "select c.relname from pg_inherits i"
+            + " join pg_class c on c.oid = i.inhrelid"
+            + " join pg_class p on p.oid = i.inhparent"
+            + " where p.relname = 'watering_event'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Clock clock;
+
+    private final int retentionMonths;
+
+    public WateringEventPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                            @Value("${watering-events.retention-months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = Clock.systemUTC();
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${watering-events.partitioning.cron:0 0 3 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now(clock);
+        for (int i = 0; i <= MONTHS_AHEAD; i++) {
+            createPartition(current.plusMonths(i));
+        }
+        if (retentionMonths > 0) {
+            dropPartitionsBefore(current.minusMonths(retentionMonths));
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String sql = "create table if not exists %s partition of watering_event for values from ('%s') to ('%s')"
+                .formatted(partitionName(month), lowerBound(month), lowerBound(month.plusMonths(1)));
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            // most likely rows for that month already landed in the default partition
+            logger.warn("Could not create watering log partition for {}", month, e);
+        }
+    }
+
+    private void dropPartitionsBefore(YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.isBefore(cutoff)) {
+                jdbcTemplate.execute("drop table " + partition);
+                logger.info("Dropped watering log partition {}", partition);
+            }
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "watering_event_p%04d_%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+
+    private static String lowerBound(YearMonth month) {
+        return month.atDay(1) + " 00:00:00+00";
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.plant_tracker.scheduler;
+
+import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.event.PlantEvent;
+import com.example.plant_tracker.event.PlantsImportedEvent;
+import com.example.plant_tracker.event.WateringReminderEvent;
+import com.example.plant_tracker.repository.PlantDueTime;
+import com.example.plant_tracker.repository.PlantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Fires a {@link WateringReminderEvent} when a plant comes due. Due times are kept in a
+ * {@link TimingWheel} that is filled once at startup by streaming the plant table and
+ * then follows committed plant changes, so the table is never scanned again.
+ */
+@Component
+public class WateringReminderScheduler implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(WateringReminderScheduler.class);
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final PlantRepository plantRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Clock clock;
+
+    private final long tickMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final TimingWheel wheel;
+
+    private long dropped;
+
+    @Autowired
+    public WateringReminderScheduler(PlantRepository plantRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${reminders.tick:PT1M}") Duration tick,
+                                     @Value("${reminders.max-timers:1000000}") int maxTimers) {
+        this(plantRepository, transactionManager, eventPublisher, Clock.systemUTC(), tick, maxTimers);
+    }
+
+    WateringReminderScheduler(PlantRepository plantRepository,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher,
+                              Clock clock,
+                              Duration tick,
+                              int maxTimers) {
+        this.plantRepository = plantRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // also used from after-commit listeners, where the committed transaction is still bound
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.tickMillis = tick.toMillis();
+        this.wheel = new TimingWheel(INITIAL_CAPACITY, maxTimers, Math.floorDiv(clock.millis(), tickMillis));
+    }
+
+    /**
+     * Loads the wheel before the web server starts taking requests, so no plant change
+     * can race with the rebuild.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Replaces the pending timers with the due times stored in the database. Plants that
+     * are already overdue were reminded about before the restart and are skipped.
+     */
+    public void rebuild() {
+        Instant now = clock.instant();
+        lock.lock();
+        try {
+            wheel.clear();
+            dropped = 0;
+        } finally {
+            lock.unlock();
+        }
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<PlantDueTime> dueTimes = plantRepository.streamDueAfter(now)) {
+                dueTimes.forEach(dueTime -> schedule(dueTime.plantId(), dueTime.userId(), dueTime.nextDueAt()));
+            }
+        });
+        logger.info("Scheduled {} watering reminders", pendingReminders());
+    }
+
+    @TransactionalEventListener
+    public void onPlantChanged(PlantEvent event) {
+        PlantResponse plant = event.plant();
+        if (plant == null || plant.nextDueAt() == null) {
+            cancel(event.plantId());
+        } else {
+            schedule(event.plantId(), event.userId(), plant.nextDueAt());
+        }
+    }
+
+    /**
+     * Schedules the user's plants after a bulk import. Rescheduling the plants the user
+     * already had is harmless; imported plants that are already overdue are skipped, as
+     * they are on a rebuild.
+     */
+    @TransactionalEventListener
+    public void onPlantsImported(PlantsImportedEvent event) {
+        Instant now = clock.instant();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<PlantDueTime> dueTimes = plantRepository.streamDueTimesByUserId(event.userId())) {
+                dueTimes.filter(dueTime -> dueTime.nextDueAt() != null && dueTime.nextDueAt().isAfter(now))
+                        .forEach(dueTime -> schedule(dueTime.plantId(), dueTime.userId(), dueTime.nextDueAt()));
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${reminders.tick:PT1M}")
+    public void fireDueReminders() {
+        List<WateringReminderEvent> due = new ArrayList<>();
+        lock.lock();
+        try {
+            wheel.advanceTo(Math.floorDiv(clock.millis(), tickMillis), (plantId, userId, deadline) ->
+                    due.add(new WateringReminderEvent(plantId, userId, Instant.ofEpochMilli(deadline * tickMillis))));
+        } finally {
+            lock.unlock();
+        }
+        for (WateringReminderEvent reminder : due) {
+            eventPublisher.publishEvent(reminder);
+        }
+        if (!due.isEmpty()) {
+            logger.debug("Fired {} watering reminders", due.size());
+        }
+    }
+
+    public int pendingReminders() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void schedule(UUID plantId, UUID userId, Instant dueAt) {
+        // round up so that a reminder never fires before the plant is due
+        long deadline = Math.floorDiv(dueAt.toEpochMilli() + tickMillis - 1, tickMillis);
+        lock.lock();
+        try {
+            if (!wheel.schedule(plantId, userId, deadline) && dropped++ == 0) {
+                logger.warn("Reminder scheduler is full, reminders for new plants are dropped");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cancel(UUID plantId) {
+        lock.lock();
+        try {
+            wheel.cancel(plantId);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
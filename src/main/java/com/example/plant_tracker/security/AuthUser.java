@@ -0,0 +1,29 @@
+package com.example.plant_tracker.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * {@link User} loaded for password authentication, extended with the user id so a
+ * token can be issued after login without loading the user a second time.
+ */
+public class AuthUser extends User {
+
+    private final UUID id;
+
+    public AuthUser(UUID id, String email, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.id = id;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getRole() {
+        return getAuthorities().iterator().next().getAuthority();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.plant_tracker.security;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Authenticated user as carried by a verified JWT. Built from the token claims alone,
+ * so authenticating a request needs no database access.
+ */
+public record UserPrincipal(UUID id, String email, String role) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,34 +1,56 @@
 package com.example.plant_tracker.security.jwt;
 
-import com.example.plant_tracker.service.UserDetailsServiceImpl;
+import com.example.plant_tracker.metrics.OutcomeTimer;
+import com.example.plant_tracker.security.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthFilter.class);
 
+    static final String TIMER = "auth.jwt.filter";
+
     private final JwtUtils jwtUtils;
 
-    private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocations tokenRevocations;
+
+    private final Timer authenticatedTimer;
+
+    private final Timer anonymousTimer;
+
+    private final Timer rejectedTimer;
+
+    private final Timer errorTimer;
 
-    public JwtAuthFilter(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService) {
+    public JwtAuthFilter(JwtUtils jwtUtils, TokenRevocations tokenRevocations, MeterRegistry meterRegistry) {
         this.jwtUtils = jwtUtils;
-        this.userDetailsService = userDetailsService;
+        this.tokenRevocations = tokenRevocations;
+        this.authenticatedTimer = filterTimer(meterRegistry, "authenticated");
+        this.anonymousTimer = filterTimer(meterRegistry, "anonymous");
+        this.rejectedTimer = filterTimer(meterRegistry, OutcomeTimer.REJECTED);
+        this.errorTimer = filterTimer(meterRegistry, OutcomeTimer.ERROR);
     }
 
     @Override
@@ -37,31 +59,48 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain
     ) throws ServletException, IOException {
+        long start = System.nanoTime();
+        Timer outcome = anonymousTimer;
         try {
             String token = parseJwt(request);
 
-            if (token != null && jwtUtils.isTokenValid(token)) {
-                String username = jwtUtils.extractUsername(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Optional<UserPrincipal> principal = token != null
+                    ? jwtUtils.verify(token)
+                            .filter(claims -> !tokenRevocations.isRevoked(claims))
+                            .flatMap(jwtUtils::toPrincipal)
+                    : Optional.empty();
 
+            if (principal.isPresent()) {
                 UsernamePasswordAuthenticationToken authenticationToken =
                         new UsernamePasswordAuthenticationToken(
-                                username,
+                                principal.get(),
                                 null,
-                                userDetails.getAuthorities()
+                                List.of(new SimpleGrantedAuthority(principal.get().role()))
                         );
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                outcome = authenticatedTimer;
+            } else if (token != null) {
+                outcome = rejectedTimer;
             }
         } catch (Exception e) {
+            outcome = errorTimer;
             log.error("JWT validation failed: {}", e.getMessage(), e);
         }
+        // the rest of the chain is timed by http.server.requests
+        OutcomeTimer.record(outcome, start);
         filterChain.doFilter(request, response);
     }
 
-    private String parseJwt(HttpServletRequest request) {
-        String headerAuth = request.getHeader("Authorization");
+    String parseJwt(HttpServletRequest request) {
+        return bearerToken(request.getHeader(HttpHeaders.AUTHORIZATION));
+    }
+
+    /**
+     * The token of a {@code Bearer} authorization header, or null for any other header.
+     */
+    public static String bearerToken(String headerAuth) {
         if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
             return headerAuth.substring(7)
                     .replaceAll("\\p{Z}", "")
@@ -69,4 +108,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
         return null;
     }
+
+    private static Timer filterTimer(MeterRegistry registry, String outcome) {
+        return OutcomeTimer.register(registry, TIMER, "Request authentication from the bearer token",
+                Tags.empty(), outcome, Duration.ofNanos(1_000), Duration.ofMillis(100));
+    }
 }
@@ -1,57 +1,127 @@
 package com.example.plant_tracker.security.jwt;
 
+import com.example.plant_tracker.metrics.OutcomeTimer;
+import com.example.plant_tracker.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
-    @Value("${jwt.secret}")
-    private String jwtSecret;
 
-    public String generateToken(String email) {
+    private static final long EXPIRATION_MS = 1000 * 60 * 60 * 24; // 1 day
+
+    private static final String USER_ID_CLAIM = "uid";
+
+    private static final String ROLE_CLAIM = "role";
+
+    private final SecretKey signingKey;
+
+    private final JwtParser parser;
+
+    static final String VERIFY_TIMER = "auth.jwt.verify";
+
+    private final VerifiedTokenCache verifiedTokens;
+
+    private final Timer cachedTimer;
+
+    private final Timer verifiedTimer;
+
+    private final Timer invalidTimer;
+
+    public JwtUtils(@Value("${jwt.secret}") String jwtSecret,
+                    @Value("${jwt.verified-cache.max-size:10000}") int verifiedCacheSize,
+                    MeterRegistry meterRegistry) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = verifiedCacheSize > 0 ? new VerifiedTokenCache(verifiedCacheSize) : null;
+        this.cachedTimer = verifyTimer(meterRegistry, "cached");
+        this.verifiedTimer = verifyTimer(meterRegistry, "verified");
+        this.invalidTimer = verifyTimer(meterRegistry, "invalid");
+    }
+
+    public String generateToken(UUID userId, String email, String role) {
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(email)
+                .claim(USER_ID_CLAIM, userId.toString())
+                .claim(ROLE_CLAIM, role)
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24)) // 1 day
-                .signWith(getSigningKey())
+                .expiration(new Date(System.currentTimeMillis() + EXPIRATION_MS))
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+    /**
+     * Verifies the token signature and expiry and returns its claims, or an empty
+     * {@link Optional} when the token is not valid. Tokens seen before are answered from
+     * the verified-token cache until they expire.
+     */
+    public Optional<Claims> verify(String token) {
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        VerifiedTokenCache.Digest digest = verifiedTokens != null ? VerifiedTokenCache.Digest.of(token) : null;
+        if (verifiedTokens != null) {
+            Claims cached = verifiedTokens.get(digest, now);
+            if (cached != null) {
+                OutcomeTimer.record(cachedTimer, start);
+                return Optional.of(cached);
+            }
+        }
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (verifiedTokens != null) {
+                verifiedTokens.put(digest, claims, now);
+            }
+            OutcomeTimer.record(verifiedTimer, start);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            OutcomeTimer.record(invalidTimer, start);
+            logger.warn("Invalid JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
     }
 
-    public boolean isTokenValid(String token) {
+    /**
+     * Builds the request principal from the signed claims, or returns an empty
+     * {@link Optional} for tokens issued without the user id and role claims.
+     */
+    public Optional<UserPrincipal> toPrincipal(Claims claims) {
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return Optional.empty();
+        }
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            logger.error("Invalid JWT token", e);
-            return false;
+            return Optional.of(new UserPrincipal(UUID.fromString(userId), claims.getSubject(), role));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid user id claim in JWT token: {}", userId);
+            return Optional.empty();
         }
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static Timer verifyTimer(MeterRegistry registry, String outcome) {
+        return OutcomeTimer.register(registry, VERIFY_TIMER, "JWT verification, from the cache or by signature",
+                Tags.empty(), outcome, Duration.ofNanos(1_000), Duration.ofMillis(100));
     }
 }
@@ -0,0 +1,133 @@
+package com.example.plant_tracker.security.jwt;
+
+import com.example.plant_tracker.repository.RevokedToken;
+import com.example.plant_tracker.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked tokens, by their {@code jti} claim. They are persisted in the revoked token
+ * table and held in memory as a Bloom filter in front of the exact set of ids, so
+ * checking a token that was not revoked costs a few bit probes and no I/O. The table is
+ * reloaded at startup and on every refresh, which drops tokens that have expired since
+ * and picks up revocations made by other instances.
+ */
+@Component
+public class TokenRevocations implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocations.class);
+
+    private final RevokedTokenRepository repository;
+
+    private final int minCapacity;
+
+    private final Clock clock;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public TokenRevocations(RevokedTokenRepository repository,
+                            @Value("${jwt.revocation.min-capacity:10000}") int minCapacity) {
+        this(repository, minCapacity, Clock.systemUTC());
+    }
+
+    TokenRevocations(RevokedTokenRepository repository, int minCapacity, Clock clock) {
+        this.repository = repository;
+        this.minCapacity = minCapacity;
+        this.clock = clock;
+        this.snapshot = Snapshot.of(Set.of(), minCapacity);
+    }
+
+    /**
+     * Whether the token was revoked. Tokens issued without a {@code jti} cannot be.
+     */
+    public boolean isRevoked(Claims claims) {
+        UUID jti = jti(claims);
+        if (jti == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        return current.filter().mightContain(jti) && current.ids().contains(jti);
+    }
+
+    /**
+     * Revokes the token until it expires, here at once and on other instances at their
+     * next refresh. Returns false for tokens without a {@code jti} or expiry.
+     */
+    public synchronized boolean revoke(Claims claims) {
+        UUID jti = jti(claims);
+        if (jti == null || claims.getExpiration() == null) {
+            return false;
+        }
+        repository.insert(new RevokedToken(jti, claims.getExpiration().toInstant()));
+        Snapshot current = snapshot;
+        if (current.ids().add(jti)) {
+            if (current.ids().size() > current.filter().capacity()) {
+                snapshot = Snapshot.of(current.ids(), Math.max(minCapacity, 2 * current.ids().size()));
+            } else {
+                current.filter().add(jti);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    /**
+     * Deletes the rows of expired tokens and rebuilds the filter and set from the rest.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:PT1M}",
+            initialDelayString = "${jwt.revocation.refresh-interval:PT1M}")
+    public synchronized void refresh() {
+        Instant now = clock.instant();
+        int expired = repository.deleteExpired(now);
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        for (RevokedToken token : repository.findUnexpired(now)) {
+            ids.add(token.jti());
+        }
+        snapshot = Snapshot.of(ids, Math.max(minCapacity, 2 * ids.size()));
+        logger.debug("Loaded {} revoked tokens, dropped {} expired", ids.size(), expired);
+    }
+
+    private static UUID jti(Claims claims) {
+        String id = claims.getId();
+        if (id == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            // every token issued here has a UUID id
+            return null;
+        }
+    }
+
+    private record Snapshot(TokenBloomFilter filter, Set<UUID> ids) {
+
+        static Snapshot of(Collection<UUID> ids, int capacity) {
+            TokenBloomFilter filter = new TokenBloomFilter(capacity);
+            Set<UUID> copy = ConcurrentHashMap.newKeySet(ids.size());
+            for (UUID id : ids) {
+                filter.add(id);
+                copy.add(id);
+            }
+            return new Snapshot(filter, copy);
+        }
+    }
+}
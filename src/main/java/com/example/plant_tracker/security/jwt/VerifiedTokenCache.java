@@ -0,0 +1,92 @@
+package com.example.plant_tracker.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of tokens that already passed signature verification, keyed by the
+ * SHA-256 digest of the compact token. Entries are dropped once the token expires, so a
+ * hit never outlives the token it stands for. When the cache is full, expired entries
+ * are swept at most once a second, and otherwise an arbitrary entry makes room, so new
+ * tokens are still cached while every entry is live.
+ */
+class VerifiedTokenCache {
+
+    private static final long SWEEP_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(1);
+
+    private final ConcurrentHashMap<Digest, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    private final int maxSize;
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    Claims get(Digest digest, long nowMillis) {
+        Entry entry = entries.get(digest);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= nowMillis) {
+            entries.remove(digest, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    void put(Digest digest, Claims claims, long nowMillis) {
+        if (claims.getExpiration() == null) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            makeRoom(nowMillis);
+        }
+        entries.put(digest, new Entry(claims, claims.getExpiration().getTime()));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void makeRoom(long nowMillis) {
+        long sweepAt = nextSweep.get();
+        if (nowMillis >= sweepAt && nextSweep.compareAndSet(sweepAt, nowMillis + SWEEP_INTERVAL_MILLIS)) {
+            entries.values().removeIf(entry -> entry.expiresAtMillis() <= nowMillis);
+        }
+        Iterator<Digest> keys = entries.keySet().iterator();
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry(Claims claims, long expiresAtMillis) {
+    }
+
+    /**
+     * The cache key of a token, computed once per lookup and reused when caching it.
+     */
+    record Digest(long a, long b, long c, long d) {
+
+        static Digest of(String token) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256")
+                        .digest(token.getBytes(StandardCharsets.US_ASCII));
+                ByteBuffer buffer = ByteBuffer.wrap(hash);
+                return new Digest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.plant_tracker.security.ratelimit;
+
+import com.example.plant_tracker.security.UserPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the configured {@link RateLimitProperties rate limits}. Runs after
+ * {@code JwtAuthFilter}, so per-user limits key on the already verified principal and
+ * never parse the token again. Rejected requests get {@code 429 Too Many Requests} with
+ * a {@code Retry-After} header.
+ * <p>
+ * Per-address limits key on {@link HttpServletRequest#getRemoteAddr()}, which behind a
+ * reverse proxy is the client address only with {@code server.forward-headers-strategy}
+ * set, so that it is taken from the {@code X-Forwarded-For} of trusted proxies. IPv6
+ * clients are limited per /64 network, since a single host usually gets a whole /64
+ * and could otherwise pick a fresh address for every request.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final List<Route> routes;
+
+    private final Clock clock;
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    RateLimitFilter(RateLimitProperties properties, Clock clock) {
+        PathPatternRequestMatcher.Builder matchers = PathPatternRequestMatcher.withDefaults();
+        this.routes = properties.rules().stream()
+                .map(rule -> new Route(
+                        matchers.matcher(rule.method(), rule.path()),
+                        rule.key(),
+                        new RateLimiter(rule.capacity(), rule.period(), properties.maxKeys())))
+                .toList();
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Route route = match(request);
+        if (route != null) {
+            long wait = route.limiter().acquire(key(route, request), TimeUnit.MILLISECONDS.toNanos(clock.millis()));
+            if (wait > 0) {
+                reject(request, response, wait);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Route match(HttpServletRequest request) {
+        for (Route route : routes) {
+            if (route.matcher().matches(request)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static Object key(Route route, HttpServletRequest request) {
+        if (route.keyType() == RateLimitProperties.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+                return principal.id();
+            }
+        }
+        return clientAddress(request.getRemoteAddr());
+    }
+
+    static Object clientAddress(String remoteAddress) {
+        if (remoteAddress == null || remoteAddress.indexOf(':') < 0) {
+            return remoteAddress;
+        }
+        try {
+            // a literal, so this parses without a name lookup
+            InetAddress address = InetAddress.getByName(remoteAddress);
+            if (address instanceof Inet6Address) {
+                return new Ipv6Network(ByteBuffer.wrap(address.getAddress()).getLong());
+            }
+            return address.getHostAddress();
+        } catch (UnknownHostException e) {
+            return remoteAddress;
+        }
+    }
+
+    private static void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos)
+            throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.debug("Rate limited {} {} from {}", request.getMethod(), request.getRequestURI(), request.getRemoteAddr());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Too many requests, try again in " + retryAfter + " seconds");
+    }
+
+    private record Ipv6Network(long prefix) {
+    }
+
+    private record Route(RequestMatcher matcher, RateLimitProperties.KeyType keyType, RateLimiter limiter) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.plant_tracker.security.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Request rate limits, applied per route. A request is checked against the first rule
+ * whose path (and method, when given) matches it; requests matching no rule are not
+ * limited.
+ *
+ * @param enabled whether the rate limit filter is installed at all
+ * @param maxKeys how many users or addresses each rule tracks at once
+ * @param rules   the limits, in matching order
+ */
+@ConfigurationProperties("rate-limits")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") int maxKeys,
+        @DefaultValue List<Rule> rules) {
+
+    public enum KeyType {
+        /** One bucket per authenticated user; unauthenticated requests fall back to their address. */
+        USER,
+        /** One bucket per client address. */
+        IP
+    }
+
+    /**
+     * Allows bursts of up to {@code capacity} requests, refilled evenly so that
+     * {@code capacity} requests are allowed per {@code period}.
+     *
+     * @param path     a path pattern such as {@code /api/plants/**}
+     * @param method   the HTTP method to limit, or {@code null} for all methods
+     * @param key      who the limit applies to
+     * @param capacity the burst size
+     * @param period   how long an empty bucket takes to refill
+     */
+    public record Rule(String path, HttpMethod method, KeyType key, int capacity, Duration period) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.plant_tracker.security.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets for one rate limit rule, kept as a single {@code long} per key using the
+ * generic cell rate algorithm: the bucket stores the time at which it will be full again,
+ * and a request is allowed when taking a token would not push that time more than one
+ * period past now. Checking and updating a bucket is a compare-and-set loop, so the
+ * allowed path never blocks.
+ * <p>
+ * A bucket that has refilled completely holds no information, so when the map reaches
+ * {@code maxKeys} the full buckets are dropped. If every tracked key is still active,
+ * new keys share one overflow bucket until room frees up, so a flood of new keys is
+ * limited as if it came from a single client instead of slipping through unlimited.
+ */
+final class RateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long periodNanos;
+
+    private final long emissionNanos;
+
+    private final int maxKeys;
+
+    private final ConcurrentHashMap<Object, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong overflow = new AtomicLong();
+
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    RateLimiter(int capacity, Duration period, int maxKeys) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Rate limit capacity must be at least 1");
+        }
+        if (period == null || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit period must be positive");
+        }
+        this.periodNanos = period.toNanos();
+        this.emissionNanos = Math.max(1, periodNanos / capacity);
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes a token from the key's bucket. Returns 0 when the request may proceed,
+     * otherwise how many nanoseconds until the next token is available.
+     */
+    long acquire(Object key, long nowNanos) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.size() < maxKeys || evictFull(nowNanos)
+                    ? buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos))
+                    : overflow;
+        }
+        return take(bucket, nowNanos);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private long take(AtomicLong bucket, long nowNanos) {
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, nowNanos) + emissionNanos;
+            long wait = next - nowNanos - periodNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that have refilled, at most once a second so that a map full of
+     * active keys cannot turn every new key into a full scan. A request racing with the
+     * removal of its bucket may go uncounted, which only ever errs towards allowing it.
+     */
+    private boolean evictFull(long nowNanos) {
+        long sweepAt = nextSweep.get();
+        if (nowNanos - sweepAt >= 0 && nextSweep.compareAndSet(sweepAt, nowNanos + SWEEP_INTERVAL_NANOS)) {
+            buckets.values().removeIf(bucket -> bucket.get() <= nowNanos);
+        }
+        return buckets.size() < maxKeys;
+    }
+}
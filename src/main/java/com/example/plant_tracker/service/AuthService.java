@@ -4,55 +4,136 @@ import com.example.plant_tracker.dto.AuthResponse;
 import com.example.plant_tracker.dto.LoginRequest;
 import com.example.plant_tracker.dto.RegisterRequest;
 import com.example.plant_tracker.exception.EmailExistsException;
+import com.example.plant_tracker.metrics.OutcomeTimer;
 import com.example.plant_tracker.model.User;
+import com.example.plant_tracker.security.AuthUser;
 import com.example.plant_tracker.security.jwt.JwtUtils;
+import com.example.plant_tracker.security.jwt.TokenRevocations;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import jakarta.validation.Valid;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Registration, login and token revocation. Deliberately not transactional: password hashing takes
+ * around 100 ms and must not hold a database connection, so each repository call runs
+ * in its own short transaction around it.
+ */
 @Service
-@Transactional
 public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
+    private final TokenRevocations tokenRevocations;
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
+    private final OutcomeTimer registerTimer;
+    private final OutcomeTimer loginTimer;
 
     public AuthService(AuthenticationManager authenticationManager,
                        JwtUtils jwtUtils,
+                       TokenRevocations tokenRevocations,
                        UserService userService,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       MeterRegistry meterRegistry) {
         this.authenticationManager = authenticationManager;
         this.jwtUtils = jwtUtils;
+        this.tokenRevocations = tokenRevocations;
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
+        this.registerTimer = new OutcomeTimer(meterRegistry, "auth.register", "User registrations",
+                Tags.empty(), Duration.ofMillis(1), Duration.ofSeconds(10));
+        this.loginTimer = new OutcomeTimer(meterRegistry, "auth.login", "User logins",
+                Tags.empty(), Duration.ofMillis(1), Duration.ofSeconds(10));
     }
 
     public AuthResponse register(RegisterRequest request) throws EmailExistsException {
+        long start = System.nanoTime();
+        try {
+            AuthResponse response = registerUser(request);
+            registerTimer.success(start);
+            return response;
+        } catch (EmailExistsException e) {
+            registerTimer.rejected(start);
+            throw e;
+        } catch (RuntimeException e) {
+            registerTimer.error(start);
+            throw e;
+        }
+    }
+
+    public AuthResponse login(@Valid LoginRequest request) {
+        long start = System.nanoTime();
+        try {
+            AuthResponse response = authenticate(request);
+            loginTimer.success(start);
+            return response;
+        } catch (InternalAuthenticationServiceException e) {
+            // the user lookup failed, not the credentials
+            loginTimer.error(start);
+            throw e;
+        } catch (AuthenticationException e) {
+            loginTimer.rejected(start);
+            throw e;
+        } catch (RuntimeException e) {
+            loginTimer.error(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Revokes the token for its remaining lifetime. Tokens that are invalid or expired
+     * already cannot be used, so there is nothing to revoke and no error either.
+     */
+    public void revoke(String token) {
+        jwtUtils.verify(token).ifPresent(tokenRevocations::revoke);
+    }
+
+    private AuthResponse registerUser(RegisterRequest request) {
         if (userService.existsByEmail(request.email())) {
             throw new EmailExistsException(request.email());
         }
 
         User user = createUser(request);
 
-        User savedUser = userService.createUser(user);
-        String jwt = jwtUtils.generateToken(savedUser.getEmail());
+        User savedUser;
+        try {
+            savedUser = userService.createUser(user);
+        } catch (DataIntegrityViolationException e) {
+            // registered concurrently after the check above
+            throw isEmailConflict(e) ? new EmailExistsException(request.email()) : e;
+        }
+        String jwt = jwtUtils.generateToken(savedUser.getId(), savedUser.getEmail(), savedUser.getRole());
 
         return new AuthResponse(jwt, "User registered successfully", savedUser.getId());
     }
 
-    public AuthResponse login(@Valid LoginRequest request) {
-        authenticationManager.authenticate(
+    private AuthResponse authenticate(LoginRequest request) {
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.email(), request.password())
         );
+        AuthUser user = (AuthUser) authentication.getPrincipal();
 
-        String jwt = jwtUtils.generateToken(request.email());
+        String jwt = jwtUtils.generateToken(user.getId(), user.getUsername(), user.getRole());
         return new AuthResponse(jwt, "Login successful", null);
     }
 
+    private static boolean isEmailConflict(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT);
+    }
+
     private User createUser(@Valid RegisterRequest request) {
         User user = new User();
         user.setEmail(request.email());
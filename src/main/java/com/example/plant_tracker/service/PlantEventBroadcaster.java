@@ -0,0 +1,250 @@
+package com.example.plant_tracker.service;
+
+import com.example.plant_tracker.event.PlantEvent;
+import com.example.plant_tracker.event.PlantsImportedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed plant changes to the owner's open server-sent event streams.
+ * <p>
+ * Events are never written on the thread that committed the change: each subscriber
+ * has a small buffer that a sender thread drains, so a slow client only delays itself.
+ * The buffer keeps the latest event per plant, which carries the plant's full state, so
+ * a burst of changes to one plant is delivered as one event. When a subscriber falls
+ * more than {@code sse.buffer-size} plants behind, the buffer is dropped and the client
+ * is sent a single {@code resync} event telling it to reload the list instead.
+ * <p>
+ * Subscribers are held in memory and only hear of changes committed through this
+ * instance, which is one reason the application runs as a single instance (see
+ * {@link com.example.plant_tracker.SingleInstanceLock}). As a fallback for any change a
+ * stream might still miss, every stream is also sent a {@code resync} each
+ * {@code sse.resync-interval}; a client reloading with the list's ETag then gets an
+ * empty {@code 304} when nothing changed.
+ */
+@Component
+public class PlantEventBroadcaster implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlantEventBroadcaster.class);
+
+    static final String RESYNC = "resync";
+
+    private final Map<UUID, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final Executor sender;
+
+    private final Duration timeout;
+
+    private final int bufferSize;
+
+    private final int maxStreamsPerUser;
+
+    @Autowired
+    public PlantEventBroadcaster(@Value("${sse.timeout:PT30M}") Duration timeout,
+                                 @Value("${sse.buffer-size:256}") int bufferSize,
+                                 @Value("${sse.max-streams-per-user:10}") int maxStreamsPerUser,
+                                 @Value("${sse.sender-threads:4}") int senderThreads) {
+        this(newSender(senderThreads), timeout, bufferSize, maxStreamsPerUser);
+    }
+
+    PlantEventBroadcaster(Executor sender, Duration timeout, int bufferSize, int maxStreamsPerUser) {
+        this.sender = sender;
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+    }
+
+    /**
+     * Opens a stream of the user's plant changes. A user with too many open streams has
+     * the oldest one closed.
+     */
+    public SseEmitter subscribe(UUID userId) {
+        return subscribe(userId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(UUID userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        List<Subscriber> userSubscribers = subscribers.compute(userId, (id, existing) -> {
+            List<Subscriber> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            return list;
+        });
+        if (userSubscribers.size() > maxStreamsPerUser) {
+            Subscriber oldest = userSubscribers.get(0);
+            remove(oldest);
+            oldest.emitter.complete();
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onPlantChanged(PlantEvent event) {
+        for (Subscriber subscriber : subscribers.getOrDefault(event.userId(), List.of())) {
+            subscriber.offer(event);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPlantsImported(PlantsImportedEvent event) {
+        for (Subscriber subscriber : subscribers.getOrDefault(event.userId(), List.of())) {
+            subscriber.resync();
+        }
+    }
+
+    /**
+     * Sends a comment down every stream, so proxies keep idle streams open and streams
+     * to vanished clients fail and are closed.
+     */
+    @Scheduled(fixedDelayString = "${sse.heartbeat:PT30S}")
+    public void heartbeat() {
+        subscribers.values().forEach(list -> list.forEach(Subscriber::heartbeat));
+    }
+
+    @Scheduled(initialDelayString = "${sse.resync-interval:PT15M}", fixedDelayString = "${sse.resync-interval:PT15M}")
+    public void resyncAll() {
+        subscribers.values().forEach(list -> list.forEach(Subscriber::resync));
+    }
+
+    int subscriberCount(UUID userId) {
+        return subscribers.getOrDefault(userId, List.of()).size();
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(list -> list.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private static ExecutorService newSender(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "sse-sender-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private final class Subscriber {
+
+        private final UUID userId;
+
+        private final SseEmitter emitter;
+
+        private final LinkedHashMap<UUID, PlantEvent> pending = new LinkedHashMap<>();
+
+        private boolean resync;
+
+        private boolean heartbeat;
+
+        private boolean draining;
+
+        Subscriber(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        synchronized void offer(PlantEvent event) {
+            if (!resync) {
+                // re-inserting moves the plant to the end, so events stay in commit order
+                pending.remove(event.plantId());
+                pending.put(event.plantId(), event);
+                if (pending.size() > bufferSize) {
+                    pending.clear();
+                    resync = true;
+                }
+            }
+            scheduleDrain();
+        }
+
+        synchronized void resync() {
+            pending.clear();
+            resync = true;
+            scheduleDrain();
+        }
+
+        synchronized void heartbeat() {
+            heartbeat = true;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining) {
+                draining = true;
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    List<PlantEvent> events;
+                    boolean sendResync;
+                    boolean sendHeartbeat;
+                    synchronized (this) {
+                        if (pending.isEmpty() && !resync && !heartbeat) {
+                            draining = false;
+                            return;
+                        }
+                        events = new ArrayList<>(pending.values());
+                        sendResync = resync;
+                        sendHeartbeat = heartbeat;
+                        pending.clear();
+                        resync = false;
+                        heartbeat = false;
+                    }
+                    if (sendResync) {
+                        emitter.send(SseEmitter.event().name(RESYNC).data(""));
+                    }
+                    for (PlantEvent event : events) {
+                        emitter.send(SseEmitter.event()
+                                .name(event.type().name().toLowerCase(Locale.ROOT))
+                                .data(event));
+                    }
+                    if (sendHeartbeat && !sendResync && events.isEmpty()) {
+                        emitter.send(SseEmitter.event().comment(""));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Closing plant event stream of user {}: {}", userId, e.getMessage());
+                remove(this);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
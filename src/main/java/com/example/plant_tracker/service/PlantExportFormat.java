@@ -0,0 +1,38 @@
+package com.example.plant_tracker.service;
+
+import com.example.plant_tracker.exception.InvalidExportFormatException;
+import org.springframework.http.MediaType;
+
+/**
+ * Formats the plant export can be written in.
+ */
+public enum PlantExportFormat {
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final String extension;
+
+    private final MediaType mediaType;
+
+    PlantExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public static PlantExportFormat fromExtension(String extension) {
+        for (PlantExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        throw new InvalidExportFormatException(extension);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.plant_tracker.service;
+
+import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.repository.PlantRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Writes all of a user's plants to a stream, one row at a time, so memory use does not
+ * depend on how many plants there are.
+ * <p>
+ * The export holds a database connection while it writes, so it is cut off after
+ * {@code plant-export.max-duration}. A client that disconnects, or stops reading until
+ * the server's write timeout, fails the write instead; either way the stream and the
+ * transaction are closed and the connection goes back to the pool.
+ */
+@Service
+public class PlantExportService {
+
+    private static final String CSV_HEADER = "id,name,lastWateredAt,wateringIntervalDays,nextDueAt";
+
+    private final PlantRepository plantRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Clock clock;
+
+    private final Duration maxDuration;
+
+    @Autowired
+    public PlantExportService(PlantRepository plantRepository, ObjectMapper objectMapper,
+                              @Value("${plant-export.max-duration:PT10M}") Duration maxDuration) {
+        this(plantRepository, objectMapper, Clock.systemUTC(), maxDuration);
+    }
+
+    PlantExportService(PlantRepository plantRepository, ObjectMapper objectMapper, Clock clock,
+                       Duration maxDuration) {
+        this.plantRepository = plantRepository;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.maxDuration = maxDuration;
+    }
+
+    /**
+     * Writes the user's plants to {@code out}, sorted by name. Does not close
+     * {@code out}. Throws {@link IOException} when the export runs past its deadline,
+     * leaving the output truncated.
+     */
+    @Transactional(readOnly = true)
+    public void exportPlants(UUID userId, PlantExportFormat format, OutputStream out) throws IOException {
+        Instant deadline = clock.instant().plus(maxDuration);
+        try (Stream<PlantResponse> plants = plantRepository.streamByUserId(userId)) {
+            Iterator<PlantResponse> rows = plants.iterator();
+            switch (format) {
+                case NDJSON -> writeNdjson(rows, out, deadline);
+                case CSV -> writeCsv(rows, out, deadline);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<PlantResponse> rows, OutputStream out, Instant deadline) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (rows.hasNext()) {
+                checkDeadline(deadline);
+                generator.writeObject(rows.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<PlantResponse> rows, OutputStream out, Instant deadline) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (rows.hasNext()) {
+            checkDeadline(deadline);
+            PlantResponse plant = rows.next();
+            writer.write(plant.id().toString());
+            writer.write(',');
+            writer.write(csvText(plant.name()));
+            writer.write(',');
+            writer.write(plant.lastWateredAt() != null ? plant.lastWateredAt().toString() : "");
+            writer.write(',');
+            writer.write(Integer.toString(plant.wateringIntervalDays()));
+            writer.write(',');
+            writer.write(plant.nextDueAt() != null ? plant.nextDueAt().toString() : "");
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+
+    private void checkDeadline(Instant deadline) throws IOException {
+        if (clock.instant().isAfter(deadline)) {
+            throw new IOException("Plant export exceeded " + maxDuration);
+        }
+    }
+
+    /**
+     * Quotes a free-text CSV field when needed, and keeps spreadsheet applications from
+     * evaluating a name that looks like a formula.
+     */
+    static String csvText(String value) {
+        String text = value;
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            text = '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
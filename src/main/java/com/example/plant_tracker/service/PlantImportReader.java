@@ -0,0 +1,260 @@
+package com.example.plant_tracker.service;
+
+import com.example.plant_tracker.model.Plant;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads plants to import from NDJSON or CSV one row at a time, validating each row the
+ * way {@code CreatePlantRequest} is validated. Accepts the files written by the plant
+ * export: CSV rows are matched to the {@code name}, {@code wateringIntervalDays} and
+ * {@code lastWateredAt} columns by header, and other fields are ignored.
+ */
+final class PlantImportReader {
+
+    /** Rows longer than this are rejected rather than read into memory. */
+    static final int MAX_ROW_LENGTH = 8192;
+
+    /** Receives the rows as they are read. */
+    interface RowHandler {
+
+        void accept(Row row) throws IOException;
+
+        void reject(long line, String reason);
+    }
+
+    record Row(long line, String name, int wateringIntervalDays, Instant lastWateredAt) {
+    }
+
+    private final PlantExportFormat format;
+
+    private final ObjectMapper objectMapper;
+
+    private final Reader in;
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    private long line = 1;
+
+    PlantImportReader(PlantExportFormat format, ObjectMapper objectMapper, Reader in) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.in = in;
+    }
+
+    void read(RowHandler handler) throws IOException {
+        switch (format) {
+            case NDJSON -> readNdjson(handler);
+            case CSV -> readCsv(handler);
+        }
+    }
+
+    private void readNdjson(RowHandler handler) throws IOException {
+        while (true) {
+            long start = line;
+            String text = nextLine();
+            if (text == null) {
+                return;
+            }
+            if (text.length() > MAX_ROW_LENGTH) {
+                handler.reject(start, "Row is longer than " + MAX_ROW_LENGTH + " characters");
+                continue;
+            }
+            if (text.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                handler.reject(start, "Not a JSON object");
+                continue;
+            }
+            if (!node.isObject()) {
+                handler.reject(start, "Not a JSON object");
+                continue;
+            }
+            JsonNode interval = node.path("wateringIntervalDays");
+            if (!interval.isMissingNode() && !interval.isNull() && !interval.canConvertToExactIntegral()) {
+                handler.reject(start, "Watering interval must be a whole number of days");
+                continue;
+            }
+            accept(handler, start,
+                    node.path("name").isTextual() ? node.get("name").asText() : null,
+                    interval.isMissingNode() || interval.isNull() ? null : interval.asText(),
+                    node.path("lastWateredAt").isTextual() ? node.get("lastWateredAt").asText() : null);
+        }
+    }
+
+    private void readCsv(RowHandler handler) throws IOException {
+        List<String> header = nextRecord();
+        if (header == null) {
+            return;
+        }
+        if (header.get(0).startsWith("\uFEFF")) {
+            header.set(0, header.get(0).substring(1));
+        }
+        int nameColumn = header.indexOf("name");
+        int intervalColumn = header.indexOf("wateringIntervalDays");
+        int lastWateredColumn = header.indexOf("lastWateredAt");
+        if (nameColumn < 0) {
+            handler.reject(1, "Header has no 'name' column");
+            return;
+        }
+        while (true) {
+            long start = line;
+            List<String> record = nextRecord();
+            if (record == null) {
+                return;
+            }
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            if (buffer.length() > MAX_ROW_LENGTH) {
+                handler.reject(start, "Row is longer than " + MAX_ROW_LENGTH + " characters");
+                continue;
+            }
+            accept(handler, start,
+                    unescapeFormula(column(record, nameColumn)),
+                    column(record, intervalColumn),
+                    column(record, lastWateredColumn));
+        }
+    }
+
+    private static void accept(RowHandler handler, long line, String name, String interval, String lastWateredAt)
+            throws IOException {
+        if (name == null || name.isBlank()) {
+            handler.reject(line, "Name cannot be blank");
+            return;
+        }
+        if (name.length() < 3 || name.length() > 50) {
+            handler.reject(line, "Name must be between 3 and 50 characters");
+            return;
+        }
+        int days = Plant.DEFAULT_WATERING_INTERVAL_DAYS;
+        if (interval != null && !interval.isEmpty()) {
+            try {
+                days = Integer.parseInt(interval);
+            } catch (NumberFormatException e) {
+                handler.reject(line, "Watering interval must be a whole number of days");
+                return;
+            }
+            if (days < 1 || days > 365) {
+                handler.reject(line, "Watering interval must be between 1 and 365 days");
+                return;
+            }
+        }
+        Instant wateredAt = null;
+        if (lastWateredAt != null && !lastWateredAt.isEmpty()) {
+            try {
+                wateredAt = Instant.parse(lastWateredAt);
+            } catch (DateTimeParseException e) {
+                handler.reject(line, "Last watering time must be an ISO-8601 instant");
+                return;
+            }
+        }
+        handler.accept(new Row(line, name, days, wateredAt));
+    }
+
+    private static String column(List<String> record, int column) {
+        return column >= 0 && column < record.size() ? record.get(column) : null;
+    }
+
+    /**
+     * Undoes the quote the export puts in front of names that a spreadsheet would read
+     * as a formula.
+     */
+    private static String unescapeFormula(String name) {
+        if (name != null && name.length() > 1 && name.charAt(0) == '\'' && "=+-@\t\r".indexOf(name.charAt(1)) >= 0) {
+            return name.substring(1);
+        }
+        return name;
+    }
+
+    /**
+     * Reads one line, keeping at most {@link #MAX_ROW_LENGTH} + 1 characters of it so an
+     * overlong line is detected without being held in memory.
+     */
+    private String nextLine() throws IOException {
+        buffer.setLength(0);
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        while (c >= 0 && c != '\n') {
+            if (c != '\r' && buffer.length() <= MAX_ROW_LENGTH) {
+                buffer.append((char) c);
+            }
+            c = read();
+        }
+        line++;
+        return buffer.toString();
+    }
+
+    /**
+     * Reads one RFC 4180 record; quoted fields may contain separators, doubled quotes
+     * and line breaks. The characters read are counted in {@link #buffer}, and fields
+     * stop growing once the record is too long.
+     */
+    private List<String> nextRecord() throws IOException {
+        buffer.setLength(0);
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    append(field, (char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                append(field, (char) c);
+            }
+            c = read();
+        }
+        line++;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void append(StringBuilder field, char c) {
+        if (buffer.length() <= MAX_ROW_LENGTH) {
+            buffer.append(c);
+            field.append(c);
+        }
+    }
+
+    private int read() throws IOException {
+        return in.read();
+    }
+}
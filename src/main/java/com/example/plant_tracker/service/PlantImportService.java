@@ -0,0 +1,182 @@
+package com.example.plant_tracker.service;
+
+import com.example.plant_tracker.dto.PlantImportResult;
+import com.example.plant_tracker.event.PlantsImportedEvent;
+import com.example.plant_tracker.exception.BulkImportUnavailableException;
+import com.example.plant_tracker.exception.ImportTimeoutException;
+import com.example.plant_tracker.exception.ImportTooLargeException;
+import com.example.plant_tracker.repository.PlantImportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Imports plants in bulk. The upload is parsed while it arrives and valid rows are
+ * spooled to a temporary file, so neither the file nor its rows are held in memory.
+ * Only once the whole upload has been read does a transaction copy the spool into a
+ * staging table and add the new plants with one statement, so a slow client never holds
+ * a database connection. Names the user already has are skipped and counted as
+ * conflicts, and a name repeated in the file keeps its first row.
+ * <p>
+ * Uploads larger than {@code plant-import.max-size} or taking longer than
+ * {@code plant-import.max-duration} are refused, which also bounds the disk a spool
+ * takes.
+ */
+@Service
+public class PlantImportService {
+
+    /** How many rejected rows are listed in the result; all of them are counted. */
+    static final int MAX_REPORTED_REJECTIONS = 100;
+
+    private final PlantImportRepository plantImportRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transaction;
+
+    private final DataSize maxSize;
+
+    private final Duration maxDuration;
+
+    public PlantImportService(PlantImportRepository plantImportRepository, ObjectMapper objectMapper,
+                              ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                              @Value("${plant-import.max-size:100MB}") DataSize maxSize,
+                              @Value("${plant-import.max-duration:PT5M}") Duration maxDuration) {
+        this.plantImportRepository = plantImportRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.maxSize = maxSize;
+        this.maxDuration = maxDuration;
+    }
+
+    public PlantImportResult importPlants(UUID userId, PlantExportFormat format, InputStream in) throws IOException {
+        if (!plantImportRepository.isSupported()) {
+            throw new BulkImportUnavailableException();
+        }
+        Path spool = Files.createTempFile("plant-import-", ".csv");
+        try {
+            SpoolingHandler handler;
+            try (PlantImportRepository.RowWriter rows = new PlantImportRepository.RowWriter(Files.newOutputStream(spool))) {
+                handler = new SpoolingHandler(rows);
+                InputStream limited = new LimitedInputStream(in, maxSize, maxDuration);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(limited, StandardCharsets.UTF_8));
+                new PlantImportReader(format, objectMapper, reader).read(handler);
+            }
+            PlantImportRepository.MergeResult merged = transaction.execute(status -> {
+                try (InputStream staged = Files.newInputStream(spool)) {
+                    plantImportRepository.stage(staged);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not read spooled plants", e);
+                }
+                PlantImportRepository.MergeResult result =
+                        plantImportRepository.merge(userId, Instant.now().truncatedTo(ChronoUnit.MICROS));
+                if (result.inserted() > 0) {
+                    eventPublisher.publishEvent(new PlantsImportedEvent(userId, result.inserted()));
+                }
+                return result;
+            });
+            return new PlantImportResult(
+                    merged.inserted(),
+                    merged.distinct() - merged.inserted(),
+                    merged.staged() - merged.distinct(),
+                    handler.rejected,
+                    handler.rejectedLines);
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    private static final class SpoolingHandler implements PlantImportReader.RowHandler {
+
+        private final PlantImportRepository.RowWriter rows;
+
+        private final List<PlantImportResult.RejectedLine> rejectedLines = new ArrayList<>();
+
+        private long rejected;
+
+        SpoolingHandler(PlantImportRepository.RowWriter rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public void accept(PlantImportReader.Row row) throws IOException {
+            rows.add(row.line(), row.name(), row.wateringIntervalDays(), row.lastWateredAt());
+        }
+
+        @Override
+        public void reject(long line, String reason) {
+            if (rejected++ < MAX_REPORTED_REJECTIONS) {
+                rejectedLines.add(new PlantImportResult.RejectedLine(line, reason));
+            }
+        }
+    }
+
+    /**
+     * Fails the upload once it grows past the size limit or runs past the deadline. The
+     * deadline is checked on every read, and a client that stops sending altogether is
+     * cut off by the connector's read timeout.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final DataSize maxSize;
+
+        private final Duration maxDuration;
+
+        private final long deadline;
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, DataSize maxSize, Duration maxDuration) {
+            super(in);
+            this.maxSize = maxSize;
+            this.maxDuration = maxDuration;
+            this.deadline = System.nanoTime() + maxDuration.toNanos();
+            this.remaining = maxSize.toBytes();
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (System.nanoTime() - deadline > 0) {
+                throw new ImportTimeoutException(maxDuration);
+            }
+            // one byte more than allowed tells a body of exactly the limit from a larger one
+            int read = super.read(b, off, (int) Math.min(len, remaining + 1));
+            if (read > 0) {
+                remaining -= read;
+                if (remaining < 0) {
+                    throw new ImportTooLargeException(maxSize);
+                }
+            }
+            return read;
+        }
+    }
+}
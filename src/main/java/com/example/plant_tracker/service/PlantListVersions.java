@@ -0,0 +1,115 @@
+package com.example.plant_tracker.service;
+
+import com.example.plant_tracker.event.PlantEvent;
+import com.example.plant_tracker.event.PlantsImportedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks a version of each user's plant list that every committed plant change bumps,
+ * so that an unchanged list can be recognised by its ETag without querying the plants.
+ * <p>
+ * Versions are kept in memory, which is sound because the application runs as a single
+ * instance (see {@link com.example.plant_tracker.SingleInstanceLock}). The ETag also
+ * carries the startup time, so a tag issued before a restart never matches and the
+ * client simply gets the full list again. A transaction changing many plants, such as
+ * bulk watering, bumps each user's version once, after it commits.
+ * <p>
+ * Versions come from one counter. Once more than {@code plant-list-versions.max-users}
+ * users have one, they are all forgotten and the current counter value becomes the
+ * version of every user without one, which is newer than any tag handed out before.
+ */
+@Component
+public class PlantListVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final ConcurrentHashMap<UUID, Long> versions = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private long counter;
+
+    private final int maxUsers;
+
+    // the version of users without an entry
+    private volatile long floor;
+
+    public PlantListVersions(@Value("${plant-list-versions.max-users:100000}") int maxUsers) {
+        this.maxUsers = maxUsers;
+    }
+
+    /**
+     * Returns the strong ETag of the user's current plant list. Read it before loading
+     * the list: a change committed in between then only makes the tag outdated, never
+     * attaches a newer tag to older contents.
+     */
+    public String etag(UUID userId) {
+        Long version = versions.get(userId);
+        return "\"" + epoch + "-" + (version != null ? version : floor) + "\"";
+    }
+
+    /**
+     * Plant changes are always published inside the transaction making them; the version
+     * is bumped only if it commits.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onPlantChanged(PlantEvent event) {
+        bump(event.userId());
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onPlantsImported(PlantsImportedEvent event) {
+        bump(event.userId());
+    }
+
+    private void bump(UUID userId) {
+        ChangedUsers changed = (ChangedUsers) TransactionSynchronizationManager.getResource(this);
+        if (changed == null) {
+            changed = new ChangedUsers();
+            TransactionSynchronizationManager.bindResource(this, changed);
+            TransactionSynchronizationManager.registerSynchronization(changed);
+        }
+        changed.userIds.add(userId);
+    }
+
+    // synchronized so no version is put between raising the floor and forgetting the rest
+    private synchronized void bumpCommitted(Set<UUID> userIds) {
+        if (versions.size() + userIds.size() > maxUsers) {
+            floor = counter;
+            versions.clear();
+        }
+        for (UUID userId : userIds) {
+            versions.put(userId, ++counter);
+        }
+    }
+
+    /**
+     * The users whose plants the current transaction changed.
+     */
+    private final class ChangedUsers implements TransactionSynchronization {
+
+        private final Set<UUID> userIds = new LinkedHashSet<>();
+
+        @Override
+        public void afterCommit() {
+            bumpCommitted(userIds);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(PlantListVersions.this);
+        }
+    }
+}
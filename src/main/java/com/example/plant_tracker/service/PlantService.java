@@ -1,93 +1,283 @@
 package com.example.plant_tracker.service;
 
+import com.example.plant_tracker.dto.BatchCreatePlantResult;
+import com.example.plant_tracker.dto.BatchCreatePlantsRequest;
 import com.example.plant_tracker.dto.CreatePlantRequest;
+import com.example.plant_tracker.dto.PlantPage;
 import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.dto.WaterPlantsRequest;
+import com.example.plant_tracker.dto.WateringResponse;
+import com.example.plant_tracker.event.PlantEvent;
+import com.example.plant_tracker.exception.InvalidPageRequestException;
 import com.example.plant_tracker.exception.PlantExistsException;
 import com.example.plant_tracker.exception.PlantNotFoundException;
 import com.example.plant_tracker.model.Plant;
 import com.example.plant_tracker.model.User;
+import com.example.plant_tracker.repository.PlantCursor;
 import com.example.plant_tracker.repository.PlantRepository;
-import jakarta.transaction.Transactional;
+import com.example.plant_tracker.repository.PlantSortProperty;
+import com.example.plant_tracker.repository.WateringEventRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @Transactional
 public class PlantService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /** How often a batch is tried again after names in it were taken concurrently. */
+    static final int MAX_BATCH_ATTEMPTS = 3;
+
     private final PlantRepository plantRepository;
 
     private final UserService userService;
-    public PlantService(PlantRepository plantRepository, UserService userService) {
+
+    private final WateringEventRepository wateringEventRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transaction;
+
+    public PlantService(PlantRepository plantRepository, UserService userService,
+                        WateringEventRepository wateringEventRepository,
+                        ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
         this.plantRepository = plantRepository;
         this.userService = userService;
+        this.wateringEventRepository = wateringEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
 
-    public PlantResponse createPlant(CreatePlantRequest request, String email) {
-        if (plantRepository.existsByName(request.name())) {
-            throw new PlantExistsException(request.name());
+    public PlantResponse createPlant(CreatePlantRequest request, UUID userId) {
+        User user = userService.getReference(userId);
+        Plant plant = newPlant(request, user, Instant.now());
+        Plant savedPlant;
+        try {
+            savedPlant = plantRepository.saveAndFlush(plant);
+        } catch (DataIntegrityViolationException e) {
+            throw isNameConflict(e) ? new PlantExistsException(request.name()) : e;
         }
-        User user = userService.findByEmail(email);
-        Plant plant = new Plant(request.name(), user);
-        Plant savedPlant = plantRepository.save(plant);
-        return new PlantResponse(
-                savedPlant.getId(),
-                savedPlant.getName(),
-                savedPlant.getLastWateredAt());
+        return publish(PlantEvent.Type.CREATED, toResponse(savedPlant), userId);
     }
 
-    public List<PlantResponse> getUserPlants(Sort.Direction direction, String property, String email) {
-        User user = userService.findByEmail(email);
-        List<Plant> plants = plantRepository.findAllByUser(user, Sort.by(direction, property));
+    /**
+     * Creates several plants at once. Taken names are found with one query and the new
+     * plants are inserted in JDBC batches; names that already exist, or repeat within
+     * the request, are reported as conflicts instead of failing the whole batch.
+     * <p>
+     * A name taken by a concurrent request between the lookup and the insert fails the
+     * insert, so the batch is rolled back and tried again in a new transaction, whose
+     * lookup then reports that name as a conflict.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BatchCreatePlantResult> createPlants(BatchCreatePlantsRequest request, UUID userId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> insertPlants(request, userId));
+            } catch (DataIntegrityViolationException e) {
+                if (!isNameConflict(e)) {
+                    throw e;
+                }
+                if (attempt == MAX_BATCH_ATTEMPTS) {
+                    throw new PlantExistsException();
+                }
+            }
+        }
+    }
 
-        return plants.stream()
-                .map(plant -> new PlantResponse(
-                        plant.getId(),
-                        plant.getName(),
-                        plant.getLastWateredAt()
-                ))
-                .toList();
+    private List<BatchCreatePlantResult> insertPlants(BatchCreatePlantsRequest request, UUID userId) {
+        Set<String> takenNames = new HashSet<>(plantRepository.findExistingNames(
+                userId, request.plants().stream().map(CreatePlantRequest::name).toList()));
+        User user = userService.getReference(userId);
+        Instant now = Instant.now();
+
+        List<BatchCreatePlantResult> results = new ArrayList<>(request.plants().size());
+        for (CreatePlantRequest plantRequest : request.plants()) {
+            if (!takenNames.add(plantRequest.name())) {
+                results.add(BatchCreatePlantResult.conflict(plantRequest.name()));
+                continue;
+            }
+            // ids are generated in memory, so nothing is sent until the batched flush below
+            Plant savedPlant = plantRepository.save(newPlant(plantRequest, user, now));
+            results.add(BatchCreatePlantResult.created(savedPlant.getName(), savedPlant.getId()));
+            publish(PlantEvent.Type.CREATED, toResponse(savedPlant), userId);
+        }
+        plantRepository.flush();
+        return results;
     }
 
-    public PlantResponse updatePlantName(UUID id, String email, String newName) {
-        User user = userService.findByEmail(email);
-        Plant plant = plantRepository.findByIdAndUser(id, user)
+    @Transactional(readOnly = true)
+    public PlantResponse getPlant(UUID id, UUID userId) {
+        return plantRepository.findResponseByIdAndUserId(id, userId)
+                .orElseThrow(() -> new PlantNotFoundException(id));
+    }
+
+    /**
+     * Returns one page of the user's plants using keyset pagination: each page continues
+     * after the sort key and id of the last plant on the previous one, so deep pages cost
+     * the same as the first. Without a limit or cursor the whole list is returned, as it
+     * was before paging; a cursor without a limit gets pages of {@value #DEFAULT_PAGE_SIZE}.
+     */
+    @Transactional(readOnly = true)
+    public PlantPage getUserPlants(Sort.Direction direction, String property, String cursor, Integer limit,
+                                   UUID userId) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new InvalidPageRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        PlantSortProperty sortProperty = PlantSortProperty.fromFieldName(property);
+        if (limit == null && cursor == null) {
+            return new PlantPage(plantRepository.findSortedByUserId(userId, sortProperty, direction), null);
+        }
+        PlantCursor after = cursor != null ? PlantCursor.decode(cursor) : null;
+        if (after != null && (after.property() != sortProperty || after.direction() != direction)) {
+            throw new InvalidPageRequestException("Cursor does not match the requested sort");
+        }
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+
+        List<PlantResponse> plants = plantRepository.findPageByUserId(userId, sortProperty, direction, after, pageSize + 1);
+
+        String nextCursor = null;
+        if (plants.size() > pageSize) {
+            plants = plants.subList(0, pageSize);
+            PlantResponse last = plants.get(pageSize - 1);
+            nextCursor = new PlantCursor(sortProperty, direction, last.id(), last.name(), last.lastWateredAt())
+                    .encode();
+        }
+        return new PlantPage(plants, nextCursor);
+    }
+
+    public PlantResponse updatePlantName(UUID id, UUID userId, String newName) {
+        Plant plant = plantRepository.findByIdAndUserId(id, userId)
                         .orElseThrow(() -> new PlantNotFoundException(id));
 
         plant.setName(newName);
+        try {
+            plantRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw isNameConflict(e) ? new PlantExistsException(newName) : e;
+        }
 
-        return new PlantResponse(
-                plant.getId(),
-                plant.getName(),
-                plant.getLastWateredAt()
-        );
-
+        return publish(PlantEvent.Type.RENAMED, toResponse(plant), userId);
     }
 
-    public PlantResponse updateLastWateredAt(UUID id, String email) {
-        User user = userService.findByEmail(email);
+    public PlantResponse updateLastWateredAt(UUID id, UUID userId) {
+        Plant plant = plantRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new PlantNotFoundException(id));
+        plant.water(Instant.now().truncatedTo(ChronoUnit.MICROS));
+
+        return publish(PlantEvent.Type.WATERED, toResponse(plant), userId);
+    }
 
-        Plant plant = plantRepository.findByIdAndUser(id, user)
+    public PlantResponse updateWateringInterval(UUID id, UUID userId, int wateringIntervalDays) {
+        Plant plant = plantRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new PlantNotFoundException(id));
-        plant.setLastWateredAt(Instant.now());
+        plant.changeWateringInterval(wateringIntervalDays);
+
+        return publish(PlantEvent.Type.RESCHEDULED, toResponse(plant), userId);
+    }
 
+    /**
+     * Returns the user's plants due for watering at or before {@code before}, soonest
+     * first. Answered by a range scan on the (user_id, next_due_at) index.
+     */
+    @Transactional(readOnly = true)
+    public List<PlantResponse> getDuePlants(Instant before, int limit, UUID userId) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return plantRepository.findDueByUserId(userId, before, Limit.of(limit));
+    }
+
+    /**
+     * Returns the plant's recorded waterings in {@code [from, to)}, newest first. Older
+     * entries are paged by passing the oldest watering returned as the next {@code to}.
+     */
+    @Transactional(readOnly = true)
+    public List<WateringResponse> getWaterings(UUID id, UUID userId, Instant from, Instant to, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!from.isBefore(to)) {
+            throw new InvalidPageRequestException("'from' must be before 'to'");
+        }
+        if (!plantRepository.existsByIdAndUserId(id, userId)) {
+            throw new PlantNotFoundException(id);
+        }
+        return wateringEventRepository.findByPlantId(id, from, to, limit).stream()
+                .map(WateringResponse::new)
+                .toList();
+    }
+
+    /**
+     * Stamps the watering time on the listed plants, or on all of the user's plants, with
+     * a single UPDATE that also returns the plants it touched.
+     */
+    public List<PlantResponse> waterPlants(WaterPlantsRequest request, UUID userId) {
+        Instant wateredAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        List<PlantResponse> watered = plantRepository.markWatered(userId, request.all() ? null : request.plantIds(),
+                wateredAt);
+        watered.forEach(plant -> publish(PlantEvent.Type.WATERED, plant, userId));
+        return watered;
+    }
+
+    public void deletePlant(UUID id, UUID userId) {
+        if (plantRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw new PlantNotFoundException(id);
+        }
+        eventPublisher.publishEvent(PlantEvent.deleted(id, userId));
+    }
+
+    /**
+     * New plants have never been watered, so they are due right away.
+     */
+    private static Plant newPlant(CreatePlantRequest request, User user, Instant now) {
+        Plant plant = new Plant(request.name(), user);
+        if (request.wateringIntervalDays() != null) {
+            plant.setWateringIntervalDays(request.wateringIntervalDays());
+        }
+        plant.setNextDueAt(now);
+        return plant;
+    }
+
+    private PlantResponse publish(PlantEvent.Type type, PlantResponse plant, UUID userId) {
+        eventPublisher.publishEvent(PlantEvent.of(type, plant, userId));
+        return plant;
+    }
+
+    private static PlantResponse toResponse(Plant plant) {
         return new PlantResponse(
                 plant.getId(),
                 plant.getName(),
-                plant.getLastWateredAt()
+                plant.getLastWateredAt(),
+                plant.getWateringIntervalDays(),
+                plant.getNextDueAt()
         );
     }
 
-    public void deletePlant(UUID id, String email) {
-        User user = userService.findByEmail(email);
-
-        Plant plant = plantRepository.findByIdAndUser(id, user)
-                .orElseThrow(() -> new PlantNotFoundException(id));
-        plantRepository.delete(plant);
+    private static boolean isNameConflict(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Plant.USER_NAME_CONSTRAINT);
     }
 }
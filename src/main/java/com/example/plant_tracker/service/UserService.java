@@ -6,6 +6,8 @@ import jakarta.validation.constraints.NotBlank;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+
 @Service
 public class UserService {
 
@@ -20,6 +22,13 @@ public class UserService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
     }
 
+    /**
+     * Returns a lazy reference to the user for use as an association, without loading it.
+     */
+    public User getReference(UUID id) {
+        return userRepository.getReferenceById(id);
+    }
+
     public boolean existsByEmail(@NotBlank String email) {
         return userRepository.existsByEmail(email);
     }
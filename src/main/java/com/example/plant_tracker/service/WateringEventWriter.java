@@ -0,0 +1,267 @@
+package com.example.plant_tracker.service;
+
+import com.example.plant_tracker.event.PlantEvent;
+import com.example.plant_tracker.repository.WateringEvent;
+import com.example.plant_tracker.repository.WateringEventRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends committed waterings to the watering log. The waterings of a transaction are
+ * collected while it runs and queued together once it commits, and a single background
+ * thread writes everything queued so far, up to the batch size, so under load many
+ * waterings share one insert.
+ * <p>
+ * The queue is bounded but never makes a caller wait or drops a watering: what does not
+ * fit is written by the committing thread itself, in one batch, which slows callers down
+ * to the pace of the database. A batch the database rejects is retried with backoff, and
+ * whatever is still queued at shutdown is written before the data source closes.
+ */
+@Component
+public class WateringEventWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(WateringEventWriter.class);
+
+    private static final long POLL_TIMEOUT_MS = 500;
+
+    private static final Duration MIN_RETRY_DELAY = Duration.ofMillis(100);
+
+    private static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(30);
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final WateringEventRepository wateringEventRepository;
+
+    private final BlockingQueue<WateringEvent> queue;
+
+    private final int batchSize;
+
+    private final TransactionTemplate newTransaction;
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    // the batch the worker was still retrying when it stopped
+    private volatile List<WateringEvent> unwritten = List.of();
+
+    public WateringEventWriter(WateringEventRepository wateringEventRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${watering-events.queue-capacity:100000}") int queueCapacity,
+                               @Value("${watering-events.batch-size:500}") int batchSize) {
+        this.wateringEventRepository = wateringEventRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        // the committed transaction's connection is still bound after commit, and work done on
+        // it there would never be committed
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener
+    public void onPlantChanged(PlantEvent event) {
+        if (event.type() != PlantEvent.Type.WATERED) {
+            return;
+        }
+        WateringEvent watering = new WateringEvent(event.plantId(), event.userId(), event.plant().lastWateredAt());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(List.of(watering));
+            return;
+        }
+        CommittedWaterings waterings = (CommittedWaterings) TransactionSynchronizationManager.getResource(this);
+        if (waterings == null) {
+            waterings = new CommittedWaterings();
+            TransactionSynchronizationManager.bindResource(this, waterings);
+            TransactionSynchronizationManager.registerSynchronization(waterings);
+        }
+        waterings.events.add(watering);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::writeQueued, "watering-event-writer");
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(MAX_RETRY_DELAY.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (worker.isAlive()) {
+                logger.warn("Watering log writer did not stop within {}", MAX_RETRY_DELAY);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Started before and stopped after the web server, so no request can queue a
+     * watering once the worker is gone; {@link #drain()} writes the rest.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * Writes the waterings still queued once the worker has stopped. Runs before the data
+     * source is closed, which this bean depends on through the repository, and keeps
+     * retrying failed batches for up to {@link #DRAIN_TIMEOUT}.
+     */
+    @PreDestroy
+    public void drain() {
+        List<WateringEvent> remaining = new ArrayList<>(unwritten);
+        queue.drainTo(remaining);
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        Duration retryDelay = MIN_RETRY_DELAY;
+        int written = 0;
+        while (written < remaining.size()) {
+            List<WateringEvent> batch = remaining.subList(written, Math.min(written + batchSize, remaining.size()));
+            if (write(batch)) {
+                written += batch.size();
+                retryDelay = MIN_RETRY_DELAY;
+                continue;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                logger.error("Gave up recording {} waterings at shutdown", remaining.size() - written);
+                return;
+            }
+            try {
+                Thread.sleep(retryDelay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.error("Interrupted while recording {} waterings at shutdown", remaining.size() - written);
+                return;
+            }
+            retryDelay = nextRetryDelay(retryDelay);
+        }
+    }
+
+    private void enqueue(List<WateringEvent> waterings) {
+        List<WateringEvent> overflow = null;
+        for (WateringEvent watering : waterings) {
+            if (!queue.offer(watering)) {
+                if (overflow == null) {
+                    overflow = new ArrayList<>();
+                }
+                overflow.add(watering);
+            }
+        }
+        if (overflow != null) {
+            writeOverflow(overflow);
+        }
+    }
+
+    private void writeOverflow(List<WateringEvent> overflow) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                for (int from = 0; from < overflow.size(); from += batchSize) {
+                    wateringEventRepository.insertAll(
+                            overflow.subList(from, Math.min(from + batchSize, overflow.size())));
+                }
+            });
+        } catch (DataAccessException e) {
+            // the database accepted the waterings a moment ago, so this is rare
+            logger.error("Watering log queue is full and {} waterings could not be recorded directly",
+                    overflow.size(), e);
+        }
+    }
+
+    private void writeQueued() {
+        List<WateringEvent> batch = new ArrayList<>(batchSize);
+        Duration retryDelay = MIN_RETRY_DELAY;
+        try {
+            while (running) {
+                if (batch.isEmpty()) {
+                    WateringEvent first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                if (write(batch)) {
+                    batch = new ArrayList<>(batchSize);
+                    retryDelay = MIN_RETRY_DELAY;
+                } else {
+                    sleepWhileRunning(retryDelay);
+                    retryDelay = nextRetryDelay(retryDelay);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            unwritten = batch;
+        }
+    }
+
+    private boolean write(List<WateringEvent> batch) {
+        try {
+            wateringEventRepository.insertAll(batch);
+            return true;
+        } catch (DataAccessException e) {
+            logger.warn("Could not record {} waterings, retrying", batch.size(), e);
+            return false;
+        }
+    }
+
+    // short slices, so stop() does not wait out a long backoff
+    private void sleepWhileRunning(Duration delay) throws InterruptedException {
+        long deadline = System.nanoTime() + delay.toNanos();
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_TIMEOUT_MS)));
+        }
+    }
+
+    private static Duration nextRetryDelay(Duration delay) {
+        Duration doubled = delay.multipliedBy(2);
+        return doubled.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : doubled;
+    }
+
+    /**
+     * The waterings of the current transaction, queued once it commits.
+     */
+    private final class CommittedWaterings implements TransactionSynchronization {
+
+        private final List<WateringEvent> events = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            enqueue(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(WateringEventWriter.this);
+        }
+    }
+}
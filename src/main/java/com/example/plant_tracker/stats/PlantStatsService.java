@@ -0,0 +1,245 @@
+package com.example.plant_tracker.stats;
+
+import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.dto.PlantStatsResponse;
+import com.example.plant_tracker.event.PlantEvent;
+import com.example.plant_tracker.event.PlantsImportedEvent;
+import com.example.plant_tracker.event.WateringReminderEvent;
+import com.example.plant_tracker.repository.PlantDueTime;
+import com.example.plant_tracker.repository.PlantRepository;
+import com.example.plant_tracker.repository.UserPlantCount;
+import com.example.plant_tracker.repository.WateringEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Per-user plant statistics kept in memory and updated from committed plant changes and
+ * watering reminders, so reading them touches neither the plant table nor the watering
+ * log. A rebuild recomputes everything from the database at startup and nightly, which
+ * also corrects any drift, for example from reminders dropped by a full scheduler.
+ * <p>
+ * The changes that arrive while a rebuild reads the database are applied as usual and
+ * also kept, then replayed onto the rebuilt statistics before they are swapped in, so
+ * the swap does not lose them. The rebuild reads from one snapshot, which a change can
+ * only be counted in twice if it committed in the moment between the rebuild starting
+ * to keep changes and taking its snapshot.
+ * <p>
+ * Only changes made through this instance are seen until the next rebuild, which is why
+ * the application runs as a single instance (see {@link com.example.plant_tracker.SingleInstanceLock}).
+ */
+@Service
+public class PlantStatsService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlantStatsService.class);
+
+    private final PlantRepository plantRepository;
+
+    private final WateringEventRepository wateringEventRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final TransactionTemplate snapshotTransaction;
+
+    private final Clock clock;
+
+    private volatile Map<UUID, UserStats> stats = new ConcurrentHashMap<>();
+
+    // changes share the read lock; the swap of a rebuild takes the write lock
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    // the changes applied since the running rebuild started, null when none runs
+    private volatile Queue<Consumer<Map<UUID, UserStats>>> changesDuringRebuild;
+
+    @Autowired
+    public PlantStatsService(PlantRepository plantRepository,
+                             WateringEventRepository wateringEventRepository,
+                             PlatformTransactionManager transactionManager) {
+        this(plantRepository, wateringEventRepository, transactionManager, Clock.systemUTC());
+    }
+
+    PlantStatsService(PlantRepository plantRepository,
+                      WateringEventRepository wateringEventRepository,
+                      PlatformTransactionManager transactionManager,
+                      Clock clock) {
+        this.plantRepository = plantRepository;
+        this.wateringEventRepository = wateringEventRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // also used from after-commit listeners, where the committed transaction is still bound
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTransaction = new TransactionTemplate(transactionManager, readOnlyTransaction);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.clock = clock;
+    }
+
+    public PlantStatsResponse getStats(UUID userId) {
+        UserStats userStats = stats.get(userId);
+        long today = today();
+        return userStats != null ? userStats.snapshot(today) : new UserStats(today).snapshot(today);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Recomputes all statistics from the plant table and the last {@value UserStats#DAYS}
+     * days of the watering log, then replays the changes that arrived meanwhile and swaps
+     * the result in at once.
+     */
+    @Scheduled(cron = "${plant-stats.rebuild-cron:0 30 3 * * *}", zone = "UTC")
+    public synchronized void rebuild() {
+        Instant now = clock.instant();
+        long today = today();
+        Map<UUID, UserStats> rebuilt = new ConcurrentHashMap<>();
+        Queue<Consumer<Map<UUID, UserStats>>> changes = new ConcurrentLinkedQueue<>();
+        changesDuringRebuild = changes;
+        try {
+            load(rebuilt, now, today);
+        } catch (RuntimeException e) {
+            changesDuringRebuild = null;
+            throw e;
+        }
+        swapLock.writeLock().lock();
+        try {
+            changes.forEach(change -> change.accept(rebuilt));
+            stats = rebuilt;
+            changesDuringRebuild = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        logger.info("Rebuilt plant statistics for {} users, replaying {} changes", rebuilt.size(), changes.size());
+    }
+
+    private void load(Map<UUID, UserStats> rebuilt, Instant now, long today) {
+        snapshotTransaction.executeWithoutResult(status -> {
+            for (UserPlantCount count : plantRepository.countByUser()) {
+                rebuilt.computeIfAbsent(count.userId(), id -> new UserStats(today))
+                        .setTotalPlants((int) count.plants());
+            }
+            try (Stream<PlantDueTime> overdue = plantRepository.streamDueBefore(now)) {
+                overdue.forEach(dueTime -> rebuilt.computeIfAbsent(dueTime.userId(), id -> new UserStats(today))
+                        .markOverdue(dueTime.plantId()));
+            }
+            Instant windowStart = LocalDate.ofEpochDay(today - UserStats.DAYS + 1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            wateringEventRepository.forEachSince(windowStart, watering ->
+                    rebuilt.computeIfAbsent(watering.userId(), id -> new UserStats(today))
+                            .recordWatering(day(watering.wateredAt()), today));
+        });
+    }
+
+    @TransactionalEventListener
+    public void onPlantChanged(PlantEvent event) {
+        if (event.type() == PlantEvent.Type.RENAMED) {
+            return;
+        }
+        Instant now = clock.instant();
+        long today = day(now);
+        PlantResponse plant = event.plant();
+        apply(event.userId(), today, userStats -> {
+            switch (event.type()) {
+                case CREATED -> userStats.plantAdded();
+                case DELETED -> userStats.plantRemoved(event.plantId());
+                case WATERED -> {
+                    userStats.recordWatering(day(plant.lastWateredAt()), today);
+                    markIfNoLongerDue(userStats, plant, now);
+                }
+                case RESCHEDULED -> markIfNoLongerDue(userStats, plant, now);
+                case RENAMED -> {
+                }
+            }
+        });
+    }
+
+    /**
+     * Reloads the user's plant count and overdue plants after a bulk import, which
+     * publishes one event rather than one per plant.
+     */
+    @TransactionalEventListener
+    public void onPlantsImported(PlantsImportedEvent event) {
+        Instant now = clock.instant();
+        ReloadedPlants reloaded = readOnlyTransaction.execute(status -> {
+            int totalPlants = (int) plantRepository.countByUserId(event.userId());
+            try (Stream<PlantDueTime> dueTimes = plantRepository.streamDueTimesByUserId(event.userId())) {
+                return new ReloadedPlants(totalPlants, dueTimes
+                        .filter(dueTime -> dueTime.nextDueAt() != null && !dueTime.nextDueAt().isAfter(now))
+                        .map(PlantDueTime::plantId)
+                        .toList());
+            }
+        });
+        apply(event.userId(), day(now), userStats -> {
+            userStats.setTotalPlants(reloaded.totalPlants());
+            reloaded.overduePlants().forEach(userStats::markOverdue);
+        });
+    }
+
+    /**
+     * Plants turn overdue through the passage of time alone; the reminder scheduler
+     * reports the moment.
+     */
+    @EventListener
+    public void onReminder(WateringReminderEvent reminder) {
+        apply(reminder.userId(), today(), userStats -> userStats.markOverdue(reminder.plantId()));
+    }
+
+    /**
+     * Applies a change to the user's statistics, and keeps it for the running rebuild if
+     * there is one.
+     */
+    private void apply(UUID userId, long today, Consumer<UserStats> change) {
+        Consumer<Map<UUID, UserStats>> userChange =
+                target -> change.accept(target.computeIfAbsent(userId, id -> new UserStats(today)));
+        swapLock.readLock().lock();
+        try {
+            userChange.accept(stats);
+            Queue<Consumer<Map<UUID, UserStats>>> changes = changesDuringRebuild;
+            if (changes != null) {
+                changes.add(userChange);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static void markIfNoLongerDue(UserStats userStats, PlantResponse plant, Instant now) {
+        if (plant.nextDueAt() != null && plant.nextDueAt().isAfter(now)) {
+            userStats.markNotOverdue(plant.id());
+        }
+    }
+
+    private long today() {
+        return day(clock.instant());
+    }
+
+    private static long day(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), 86_400);
+    }
+
+    private record ReloadedPlants(int totalPlants, List<UUID> overduePlants) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.plant_tracker.stats;
+
+import com.example.plant_tracker.dto.PlantStatsResponse;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Running statistics of one user's plants. Waterings are counted per UTC day in a ring
+ * buffer covering the last {@value #DAYS} days; days that fall out of the window are
+ * cleared lazily the next time the stats are touched.
+ */
+final class UserStats {
+
+    static final int DAYS = 90;
+
+    private final int[] dailyWaterings = new int[DAYS];
+
+    private final Set<UUID> overduePlants = new HashSet<>();
+
+    private long newestDay;
+
+    private int wateringsInWindow;
+
+    private int totalPlants;
+
+    UserStats(long today) {
+        this.newestDay = today;
+    }
+
+    synchronized void setTotalPlants(int totalPlants) {
+        this.totalPlants = totalPlants;
+    }
+
+    synchronized void plantAdded() {
+        totalPlants++;
+    }
+
+    synchronized void plantRemoved(UUID plantId) {
+        totalPlants = Math.max(0, totalPlants - 1);
+        overduePlants.remove(plantId);
+    }
+
+    synchronized void markOverdue(UUID plantId) {
+        overduePlants.add(plantId);
+    }
+
+    synchronized void markNotOverdue(UUID plantId) {
+        overduePlants.remove(plantId);
+    }
+
+    synchronized void recordWatering(long day, long today) {
+        roll(today);
+        if (day > today || day <= today - DAYS) {
+            return;
+        }
+        dailyWaterings[bucket(day)]++;
+        wateringsInWindow++;
+    }
+
+    /**
+     * Average days between waterings is estimated as plant-days in the window divided by
+     * waterings in it, which needs no per-plant history.
+     */
+    synchronized PlantStatsResponse snapshot(long today) {
+        roll(today);
+        int[] perDay = new int[DAYS];
+        for (int i = 0; i < DAYS; i++) {
+            perDay[i] = dailyWaterings[bucket(today - DAYS + 1 + i)];
+        }
+        Double averageDaysBetweenWaterings = wateringsInWindow == 0 || totalPlants == 0
+                ? null
+                : (double) totalPlants * DAYS / wateringsInWindow;
+        return new PlantStatsResponse(totalPlants, overduePlants.size(), averageDaysBetweenWaterings, perDay);
+    }
+
+    private void roll(long today) {
+        if (today <= newestDay) {
+            return;
+        }
+        long stale = Math.min(today - newestDay, DAYS);
+        for (long day = newestDay + 1; day <= newestDay + stale; day++) {
+            int bucket = bucket(day);
+            wateringsInWindow -= dailyWaterings[bucket];
+            dailyWaterings[bucket] = 0;
+        }
+        newestDay = today;
+    }
+
+    private static int bucket(long day) {
+        return (int) Math.floorMod(day, DAYS);
+    }
+}
@@ -0,0 +1,25 @@
+create table users
+(
+    id       uuid         not null,
+    email    varchar(255),
+    username varchar(255),
+    password varchar(255) not null,
+    role     varchar(255),
+    constraint pk_users primary key (id),
+    constraint uk_users_email unique (email),
+    constraint uk_users_username unique (username)
+);
+
+create table plant
+(
+    id              uuid         not null,
+    name            varchar(255) not null,
+    last_watered_at timestamp(6) with time zone,
+    user_id         uuid,
+    constraint pk_plant primary key (id),
+    constraint fk_plant_user foreign key (user_id) references users (id),
+    -- also serves lookups and name-ordered pages of a user's plants
+    constraint uk_plant_user_name unique (user_id, name)
+);
+
+create index idx_plant_user_last_watered on plant (user_id, last_watered_at);
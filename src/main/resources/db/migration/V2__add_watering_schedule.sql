@@ -0,0 +1,7 @@
+alter table plant add column watering_interval_days integer not null default 7;
+alter table plant add column next_due_at timestamp(6) with time zone;
+
+-- every existing plant has the default interval at this point
+update plant set next_due_at = coalesce(last_watered_at + interval '7' day, current_timestamp);
+
+create index idx_plant_user_next_due on plant (user_id, next_due_at);
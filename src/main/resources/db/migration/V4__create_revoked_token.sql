@@ -0,0 +1,9 @@
+-- rows are only needed until the token would have expired anyway
+create table revoked_token
+(
+    jti        uuid                        not null,
+    expires_at timestamp(6) with time zone not null,
+    constraint pk_revoked_token primary key (jti)
+);
+
+create index idx_revoked_token_expires_at on revoked_token (expires_at);
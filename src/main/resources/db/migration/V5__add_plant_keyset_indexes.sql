@@ -0,0 +1,9 @@
+-- keyset pages order by the sort column and then id, so with id in the index a page
+-- starts at the cursor and stops after limit rows instead of sorting the user's plants
+create index idx_plant_user_name_id on plant (user_id, name, id);
+
+drop index idx_plant_user_last_watered;
+create index idx_plant_user_last_watered on plant (user_id, last_watered_at, id);
+-- descending pages still list never-watered plants last, which a backward scan of the
+-- ascending index would put first
+create index idx_plant_user_watered_desc on plant (user_id, last_watered_at desc nulls last, id desc);
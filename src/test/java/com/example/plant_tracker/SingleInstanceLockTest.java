@@ -0,0 +1,171 @@
+package com.example.plant_tracker;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.postgresql.Driver;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs instances of the lock, and of the whole application, against one PostgreSQL
+ * database, the way several deployed instances would share it.
+ */
+class SingleInstanceLockTest {
+
+    private static final Map<String, Object> properties = new HashMap<>();
+
+    private static DataSource dataSource;
+
+    private final List<SingleInstanceLock> locks = new ArrayList<>();
+
+    @BeforeAll
+    static void createDatabase() {
+        PostgresTestDatabase.register((name, value) -> properties.put(name, value.get()), "single_instance");
+        dataSource = new SimpleDriverDataSource(new Driver(), (String) properties.get("spring.datasource.url"),
+                "postgres", "postgres");
+    }
+
+    @AfterEach
+    void releaseLocks() {
+        locks.forEach(SingleInstanceLock::release);
+    }
+
+    @Test
+    void acquire_Fails_WhenAnotherInstanceHoldsLock() throws Exception {
+        lock(Duration.ZERO).acquire();
+
+        assertThatThrownBy(() -> lock(Duration.ZERO).acquire())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Another instance of the application holds the single-instance lock");
+    }
+
+    @Test
+    void acquire_WaitsForRunningInstanceToStop() throws Exception {
+        SingleInstanceLock running = lock(Duration.ZERO);
+        running.acquire();
+        Thread stop = new Thread(() -> {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.release();
+        });
+        stop.start();
+
+        lock(Duration.ofSeconds(10)).acquire();
+        stop.join();
+    }
+
+    @Test
+    void check_TakesLockAgain_WhenConnectionWasLost() throws Exception {
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        SingleInstanceLock lock = new SingleInstanceLock(dataSource, context, Duration.ZERO);
+        locks.add(lock);
+        lock.acquire();
+        terminateLockHolder();
+
+        lock.check();
+
+        verify(context, never()).close();
+        assertThatThrownBy(() -> lock(Duration.ZERO).acquire()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void check_ClosesContext_WhenAnotherInstanceTookLock() throws Exception {
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        SingleInstanceLock lock = new SingleInstanceLock(dataSource, context, Duration.ZERO);
+        locks.add(lock);
+        lock.acquire();
+        terminateLockHolder();
+        lock(Duration.ofSeconds(10)).acquire();
+
+        lock.check();
+
+        verify(context, timeout(5_000)).close();
+    }
+
+    @Test
+    void application_FailsToStart_WhenAnotherInstanceHoldsLock() throws Exception {
+        lock(Duration.ZERO).acquire();
+
+        Throwable failure = catchThrowable(() -> application().run(arguments()));
+
+        assertThat(failure).hasRootCauseInstanceOf(IllegalStateException.class)
+                .rootCause()
+                .hasMessageContaining("Another instance of the application holds the single-instance lock");
+    }
+
+    @Test
+    void application_ShutsDown_WhenAnotherInstanceTookLock() throws Exception {
+        CountDownLatch closed = new CountDownLatch(1);
+        ConfigurableApplicationContext context = application()
+                .listeners((ApplicationListener<ContextClosedEvent>) event -> closed.countDown())
+                .run(arguments());
+        try {
+            terminateLockHolder();
+            lock(Duration.ofSeconds(10)).acquire();
+
+            assertThat(closed.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            context.close();
+        }
+    }
+
+    private SingleInstanceLock lock(Duration wait) {
+        SingleInstanceLock lock = new SingleInstanceLock(dataSource, mock(ConfigurableApplicationContext.class), wait);
+        locks.add(lock);
+        return lock;
+    }
+
+    private static SpringApplicationBuilder application() {
+        return new SpringApplicationBuilder(PlantTrackerApplication.class);
+    }
+
+    // arguments, since application.yaml overrides default properties
+    private static String[] arguments() {
+        List<String> arguments = new ArrayList<>(List.of("--server.port=0",
+                "--management.server.port=-1",
+                "--spring.main.banner-mode=off",
+                "--single-instance.enabled=true",
+                // long enough for the test to take the lock between two checks
+                "--single-instance.check-interval=PT1S"));
+        properties.forEach((name, value) -> arguments.add("--" + name + "=" + value));
+        return arguments.toArray(String[]::new);
+    }
+
+    // what a database restart or a network failure does to the connection holding the lock
+    private static void terminateLockHolder() throws InterruptedException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.queryForList("select pg_terminate_backend(pid) from pg_locks"
+                + " where locktype = 'advisory' and database = (select oid from pg_database"
+                + " where datname = current_database())");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject("select count(*) from pg_locks where locktype = 'advisory'",
+                Integer.class) > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+}
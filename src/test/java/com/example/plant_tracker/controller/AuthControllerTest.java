@@ -3,15 +3,18 @@ package com.example.plant_tracker.controller;
 import com.example.plant_tracker.dto.AuthResponse;
 import com.example.plant_tracker.dto.LoginRequest;
 import com.example.plant_tracker.dto.RegisterRequest;
+import com.example.plant_tracker.exception.AuthenticationBusyException;
 import com.example.plant_tracker.exception.EmailExistsException;
 import com.example.plant_tracker.exception.GlobalExceptionHandler;
 import com.example.plant_tracker.model.User;
 import com.example.plant_tracker.security.SecurityConfig;
 import com.example.plant_tracker.security.jwt.JwtAuthFilter;
 import com.example.plant_tracker.security.jwt.JwtUtils;
+import com.example.plant_tracker.security.jwt.TokenRevocations;
 import com.example.plant_tracker.service.AuthService;
 import com.example.plant_tracker.service.UserDetailsServiceImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -27,12 +30,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(AuthController.class)
-@Import(SecurityConfig.class)
+@WebMvcTest(controllers = AuthController.class, properties = "rate-limits.enabled=false")
+@Import({SecurityConfig.class, SimpleMeterRegistry.class})
 class AuthControllerTest {
 
     @Autowired
@@ -47,6 +52,9 @@ class AuthControllerTest {
     @MockitoBean
     private JwtUtils jwtUtils;
 
+    @MockitoBean
+    private TokenRevocations tokenRevocations;
+
     @MockitoBean
     private UserDetailsServiceImpl userDetailsService;
 
@@ -161,6 +169,22 @@ class AuthControllerTest {
                 );
     }
 
+    @Test
+    void login_HashingSaturated_ReturnsServiceUnavailableWithRetryAfter() throws Exception {
+        LoginRequest request = new LoginRequest("test@example.com", "password123");
+
+        when(authService.login(request)).thenThrow(new AuthenticationBusyException());
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpectAll(
+                        status().isServiceUnavailable(),
+                        header().string("Retry-After", "1"),
+                        jsonPath("$.jwt").isEmpty()
+                );
+    }
+
     @Test
     void login_BlankEmail_ReturnsBadRequest() throws Exception {
         String invalidRequest = "{\"email\":\"\",\"password\":\"password123\"}";
@@ -181,6 +205,41 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void logout_RevokesBearerToken_ReturnsNoContent() throws Exception {
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer jwt-token"))
+                .andExpect(status().isNoContent());
+
+        verify(authService).revoke("jwt-token");
+    }
+
+    @Test
+    void logout_ReturnsNoContent_WhenNoToken() throws Exception {
+        mockMvc.perform(post("/api/auth/logout"))
+                .andExpect(status().isNoContent());
+
+        verifyNoInteractions(authService);
+    }
+
+    @Test
+    void revoke_RevokesGivenToken_ReturnsNoContent() throws Exception {
+        mockMvc.perform(post("/api/auth/revoke")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\":\"jwt-token\"}"))
+                .andExpect(status().isNoContent());
+
+        verify(authService).revoke("jwt-token");
+    }
+
+    @Test
+    void revoke_BlankToken_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/auth/revoke")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\":\"\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
     private User createTestUser(String email, String username) {
         User user = new User();
         user.setId(UUID.randomUUID());
@@ -0,0 +1,301 @@
+package com.example.plant_tracker.controller;
+
+import com.example.plant_tracker.dto.AuthResponse;
+import com.example.plant_tracker.dto.PlantResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs every endpoint through the real security, service and JPA stack on the H2
+ * stand-in and pins the number of SQL statements Hibernate prepares for it, so an added
+ * N+1 or an extra lookup fails here instead of showing up in production. Statements sent
+ * through {@code JdbcTemplate}, such as the watering log, are not counted by Hibernate but
+ * show up in the {@code Server-Timing} header; bulk import
+ * needs PostgreSQL's COPY and is not run on H2.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"h2", "integration"})
+class ControllerQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private String email;
+
+    private String token;
+
+    @BeforeEach
+    void registerUser() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        email = "user-" + UUID.randomUUID() + "@example.com";
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(registerJson(email)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        token = objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class).jwt();
+    }
+
+    @Test
+    void register_ChecksEmailAndInsertsUser() throws Exception {
+        assertStatements(2, post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(registerJson("user-" + UUID.randomUUID() + "@example.com")))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void register_StopsAtEmailCheck_WhenEmailIsTaken() throws Exception {
+        assertStatements(1, post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(registerJson(email)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void login_LoadsUserOnce() throws Exception {
+        assertStatements(1, post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void login_LoadsUserOnce_WhenPasswordIsWrong() throws Exception {
+        assertStatements(1, post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"wrong-password\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logout_OnlyRecordsRevocation_AndLaterRequestsCheckItInMemory() throws Exception {
+        mockMvc.perform(authorized(post("/api/auth/logout")))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("Server-Timing", endsWith("desc=\"1 statements\"")));
+
+        mockMvc.perform(authorized(get("/api/plants")))
+                .andExpect(status().isForbidden())
+                .andExpect(header().string("Server-Timing", endsWith("desc=\"0 statements\"")));
+    }
+
+    @Test
+    void createPlant_InsertsWithoutLoadingUser() throws Exception {
+        assertStatements(1, authorized(post("/api/plants"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Monstera\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void createPlants_LooksUpNamesAndInsertsInOneBatch() throws Exception {
+        assertStatements(2, authorized(post("/api/plants/batch"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"plants\":[{\"name\":\"Monstera\"},{\"name\":\"Oleander\"},{\"name\":\"Fern\"}]}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getAllPlants_RunsOneQuery() throws Exception {
+        createPlants(5);
+
+        assertStatements(1, authorized(get("/api/plants")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getAllPlants_RunsNoQuery_WhenNotModified() throws Exception {
+        createPlants(5);
+        String etag = mockMvc.perform(authorized(get("/api/plants")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertStatements(0, authorized(get("/api/plants")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void exportPlants_RunsOneQuery() throws Exception {
+        createPlants(5);
+
+        statistics.clear();
+        MvcResult result = mockMvc.perform(authorized(get("/api/plants/export")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void streamEvents_RunsNoQuery() throws Exception {
+        assertStatements(0, authorized(get("/api/plants/events")))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void getDuePlants_RunsOneQuery() throws Exception {
+        createPlants(5);
+
+        assertStatements(1, authorized(get("/api/plants/due")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getStats_RunsNoQuery() throws Exception {
+        createPlants(5);
+
+        assertStatements(0, authorized(get("/api/plants/stats")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getPlant_RunsOneQuery() throws Exception {
+        PlantResponse plant = createPlant("Monstera");
+
+        assertStatements(1, authorized(get("/api/plants/{id}", plant.id())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getWaterings_ChecksOwnershipOnce() throws Exception {
+        PlantResponse plant = createPlant("Monstera");
+
+        assertStatements(1, authorized(get("/api/plants/{id}/waterings", plant.id())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getWaterings_ReportsJdbcStatementsInServerTiming() throws Exception {
+        PlantResponse plant = createPlant("Monstera");
+
+        mockMvc.perform(authorized(get("/api/plants/{id}/waterings", plant.id())))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", endsWith("desc=\"2 statements\"")));
+    }
+
+    @Test
+    void updatePlantName_LoadsAndUpdates() throws Exception {
+        PlantResponse plant = createPlant("Monstera");
+
+        assertStatements(2, authorized(patch("/api/plants/{id}/name", plant.id()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Oleander\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateLastWateredAt_LoadsAndUpdates() throws Exception {
+        PlantResponse plant = createPlant("Monstera");
+
+        assertStatements(2, authorized(patch("/api/plants/{id}/last-watered", plant.id())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateWateringInterval_LoadsAndUpdates() throws Exception {
+        PlantResponse plant = createPlant("Monstera");
+
+        assertStatements(2, authorized(patch("/api/plants/{id}/watering-interval", plant.id()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"wateringIntervalDays\":3}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void waterPlants_UpdatesAndReturnsInOneStatement_RegardlessOfPlantCount() throws Exception {
+        createPlants(20);
+
+        assertStatements(1, authorized(post("/api/plants/watered"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"all\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(20)));
+    }
+
+    @Test
+    void waterPlants_ReturnsOnlyListedPlants() throws Exception {
+        PlantResponse plant = createPlant("Monstera");
+        createPlant("Oleander");
+
+        assertStatements(1, authorized(post("/api/plants/watered"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"plantIds\":[\"" + plant.id() + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(plant.id().toString())))
+                .andExpect(jsonPath("$[0].lastWateredAt").isNotEmpty())
+                .andExpect(jsonPath("$[0].nextDueAt").isNotEmpty());
+    }
+
+    @Test
+    void deletePlant_RunsOneDelete() throws Exception {
+        PlantResponse plant = createPlant("Monstera");
+
+        assertStatements(1, authorized(delete("/api/plants/{id}", plant.id())))
+                .andExpect(status().isNoContent());
+    }
+
+    private ResultActions assertStatements(long expected, MockHttpServletRequestBuilder request) throws Exception {
+        statistics.clear();
+        ResultActions result = mockMvc.perform(request);
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements for %s", result.andReturn().getRequest().getRequestURI())
+                .isEqualTo(expected);
+        return result;
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    private PlantResponse createPlant(String name) throws Exception {
+        MvcResult result = mockMvc.perform(authorized(post("/api/plants"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), PlantResponse.class);
+    }
+
+    private void createPlants(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            createPlant("Plant " + i);
+        }
+    }
+
+    private static String registerJson(String email) {
+        String username = "u" + UUID.randomUUID().toString().substring(0, 12);
+        return "{\"email\":\"" + email + "\",\"username\":\"" + username + "\",\"password\":\"password123\"}";
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.plant_tracker.controller;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"h2", "integration"})
+class H2PlantNameConstraintTest extends PlantNameConstraintTest {
+}
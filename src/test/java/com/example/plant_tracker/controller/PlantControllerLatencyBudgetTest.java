@@ -0,0 +1,187 @@
+package com.example.plant_tracker.controller;
+
+import com.example.plant_tracker.dto.AuthResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Coarse latency budgets for the plant endpoints against a user with
+ * {@value #PLANTS} plants, among other users' plants. The budgets are several times
+ * the expected time, so they only catch changes that turn an index scan or a page into
+ * a scan of everything, not ordinary noise; each request is timed as the best of a few
+ * runs after a warm-up.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"h2", "integration"})
+class PlantControllerLatencyBudgetTest {
+
+    private static final int PLANTS = 12_000;
+
+    private static final int OTHER_USERS = 4;
+
+    private static final int RUNS = 5;
+
+    private static final Instant NOW = Instant.now();
+
+    // seeded once for the class: the H2 database outlives the test methods
+    private static String token;
+
+    private static UUID plantId;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedPlants() throws Exception {
+        if (token != null) {
+            return;
+        }
+        for (int u = 0; u < OTHER_USERS; u++) {
+            insertPlants(register().userId());
+        }
+        AuthResponse user = register();
+        plantId = insertPlants(user.userId());
+        token = user.jwt();
+    }
+
+    @Test
+    void getAllPlants_StaysWithinBudget() throws Exception {
+        assertWithinBudget(Duration.ofMillis(150), get("/api/plants").param("limit", "100"));
+    }
+
+    @Test
+    void getAllPlants_StaysWithinBudget_WithoutLimit() throws Exception {
+        assertWithinBudget(Duration.ofSeconds(2), get("/api/plants"));
+    }
+
+    @Test
+    void getAllPlants_StaysWithinBudget_OnDeepPage() throws Exception {
+        String cursor = null;
+        for (int page = 0; page < 20; page++) {
+            MockHttpServletRequestBuilder request = get("/api/plants").param("limit", "500");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            cursor = mockMvc.perform(authorized(request)).andReturn().getResponse()
+                    .getHeader(PlantController.NEXT_CURSOR_HEADER);
+        }
+
+        assertThat(cursor).isNotNull();
+        assertWithinBudget(Duration.ofMillis(150), get("/api/plants").param("cursor", cursor));
+    }
+
+    @Test
+    void getAllPlants_StaysWithinBudget_SortedByLastWatered() throws Exception {
+        assertWithinBudget(Duration.ofMillis(150), get("/api/plants").param("sort", "lastWateredAt,desc").param("limit", "100"));
+    }
+
+    @Test
+    void getDuePlants_StaysWithinBudget() throws Exception {
+        assertWithinBudget(Duration.ofMillis(150), get("/api/plants/due"));
+    }
+
+    @Test
+    void getPlant_StaysWithinBudget() throws Exception {
+        assertWithinBudget(Duration.ofMillis(100), get("/api/plants/{id}", plantId));
+    }
+
+    @Test
+    void getStats_StaysWithinBudget() throws Exception {
+        assertWithinBudget(Duration.ofMillis(50), get("/api/plants/stats"));
+    }
+
+    @Test
+    void exportPlants_StaysWithinBudget() throws Exception {
+        Duration best = null;
+        for (int run = 0; run <= RUNS; run++) {
+            long start = System.nanoTime();
+            MvcResult result = mockMvc.perform(authorized(get("/api/plants/export")))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            // the first run warms up
+            if (run > 0 && (best == null || elapsed.compareTo(best) < 0)) {
+                best = elapsed;
+            }
+        }
+
+        assertThat(best).isLessThan(Duration.ofSeconds(2));
+    }
+
+    private void assertWithinBudget(Duration budget, MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(authorized(request)).andExpect(status().isOk());
+        Duration best = null;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            mockMvc.perform(authorized(request)).andExpect(status().isOk());
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            if (best == null || elapsed.compareTo(best) < 0) {
+                best = elapsed;
+            }
+        }
+        assertThat(best).as("best of %d runs", RUNS).isLessThan(budget);
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    private AuthResponse register() throws Exception {
+        String id = UUID.randomUUID().toString().substring(0, 12);
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"budget-" + id + "@example.com\",\"username\":\"b" + id
+                                + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class);
+    }
+
+    /**
+     * Inserts {@value #PLANTS} plants for the user, a quarter never watered and the rest
+     * spread over the last months, and returns the id of one of them.
+     */
+    private UUID insertPlants(UUID userId) {
+        List<Object[]> rows = new ArrayList<>(PLANTS);
+        for (int i = 0; i < PLANTS; i++) {
+            int interval = 1 + i % 30;
+            Instant lastWatered = i % 4 == 0 ? null : NOW.minus(Duration.ofHours(i));
+            Instant nextDue = lastWatered != null ? lastWatered.plus(Duration.ofDays(interval)) : NOW;
+            rows.add(new Object[]{UUID.randomUUID(), "Plant %05d".formatted(i),
+                    lastWatered != null ? Timestamp.from(lastWatered) : null, interval, Timestamp.from(nextDue), userId});
+        }
+        jdbcTemplate.batchUpdate("insert into plant (id, name, last_watered_at, watering_interval_days, next_due_at,"
+                + " user_id) values (?, ?, ?, ?, ?, ?)", rows);
+        return (UUID) rows.get(PLANTS / 2)[0];
+    }
+}
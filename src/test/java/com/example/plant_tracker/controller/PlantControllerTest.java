@@ -1,38 +1,65 @@
 package com.example.plant_tracker.controller;
 
+import com.example.plant_tracker.dto.BatchCreatePlantResult;
+import com.example.plant_tracker.dto.PlantImportResult;
+import com.example.plant_tracker.dto.PlantPage;
 import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.dto.PlantStatsResponse;
+import com.example.plant_tracker.dto.WateringResponse;
+import com.example.plant_tracker.event.PlantEvent;
+import com.example.plant_tracker.exception.BulkImportUnavailableException;
+import com.example.plant_tracker.exception.ImportTooLargeException;
+import com.example.plant_tracker.exception.InvalidPageRequestException;
 import com.example.plant_tracker.exception.PlantExistsException;
 import com.example.plant_tracker.exception.PlantNotFoundException;
 import com.example.plant_tracker.security.SecurityConfig;
+import com.example.plant_tracker.security.WithMockUserPrincipal;
 import com.example.plant_tracker.security.jwt.JwtUtils;
+import com.example.plant_tracker.security.jwt.TokenRevocations;
+import com.example.plant_tracker.service.PlantEventBroadcaster;
+import com.example.plant_tracker.service.PlantExportFormat;
+import com.example.plant_tracker.service.PlantExportService;
+import com.example.plant_tracker.service.PlantImportService;
+import com.example.plant_tracker.service.PlantListVersions;
 import com.example.plant_tracker.service.PlantService;
+import com.example.plant_tracker.stats.PlantStatsService;
 import com.example.plant_tracker.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
-import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
-
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(PlantController.class)
-@Import(SecurityConfig.class)
+@WebMvcTest(controllers = PlantController.class, properties = "rate-limits.enabled=false")
+@Import({SecurityConfig.class, PlantListVersions.class, SimpleMeterRegistry.class})
 class PlantControllerTest {
 
     @Autowired
@@ -41,21 +68,39 @@ class PlantControllerTest {
     @MockitoBean
     private PlantService plantService;
 
+    @MockitoBean
+    private PlantStatsService plantStatsService;
+
+    @MockitoBean
+    private PlantExportService plantExportService;
+
+    @MockitoBean
+    private PlantImportService plantImportService;
+
+    @MockitoBean
+    private PlantEventBroadcaster plantEventBroadcaster;
+
     @MockitoBean
     private JwtUtils jwtUtils;
 
+    @MockitoBean
+    private TokenRevocations tokenRevocations;
+
     @MockitoBean
     UserDetailsServiceImpl userDetailsService;
 
-    private final String email = "user@example.com";
+    @Autowired
+    private PlantListVersions plantListVersions;
+
+    private final UUID userId = UUID.fromString("00000000-0000-0000-0000-000000000001");
 
     @Test
-    @WithMockUser(username = "user@example.com")
+    @WithMockUserPrincipal
     void createPlant_Returns201_WhenValidRequest() throws Exception {
         UUID plantId = UUID.randomUUID();
 
         when(plantService.createPlant(any(), any())).thenReturn(
-                new PlantResponse(plantId, "Oleander", null)
+                new PlantResponse(plantId, "Oleander", null, 7, null)
         );
 
         mockMvc.perform(post("/api/plants")
@@ -66,7 +111,7 @@ class PlantControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com")
+    @WithMockUserPrincipal
     void createPlant_Returns400_WhenNameIsBlank() throws Exception {
         mockMvc.perform(post("/api/plants")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -75,9 +120,9 @@ class PlantControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com")
+    @WithMockUserPrincipal
     void createPlant_Returns409_WhenPlantAlreadyExists() throws Exception {
-        when(plantService.createPlant(any(), eq(email)))
+        when(plantService.createPlant(any(), eq(userId)))
                 .thenThrow(new PlantExistsException("Oleander"));
 
         mockMvc.perform(post("/api/plants")
@@ -90,14 +135,47 @@ class PlantControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com")
+    @WithMockUserPrincipal
+    void createPlants_Returns200WithPerItemResults() throws Exception {
+        UUID plantId = UUID.randomUUID();
+
+        when(plantService.createPlants(any(), eq(userId))).thenReturn(List.of(
+                BatchCreatePlantResult.created("Oleander", plantId),
+                BatchCreatePlantResult.conflict("Mięta")));
+
+        mockMvc.perform(post("/api/plants/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"plants\":[{\"name\":\"Oleander\"},{\"name\":\"Mięta\"}]}"))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$", hasSize(2)),
+                        jsonPath("$[0].status").value("CREATED"),
+                        jsonPath("$[0].id").value(plantId.toString()),
+                        jsonPath("$[1].status").value("CONFLICT")
+                );
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void createPlants_Returns400_WhenAnyNameIsBlank() throws Exception {
+        mockMvc.perform(post("/api/plants/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"plants\":[{\"name\":\"Oleander\"},{\"name\":\"\"}]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(plantService);
+    }
+
+    @Test
+    @WithMockUserPrincipal
     void getAllPlants_Returns200WithPlants_WhenPlantsExist() throws Exception {
         UUID plantId1 = UUID.randomUUID();
         UUID plantId2 = UUID.randomUUID();
-        PlantResponse plant1 = new PlantResponse(plantId1, "Paproć", null);
-        PlantResponse plant2 = new PlantResponse(plantId2, "Mięta", null);
+        PlantResponse plant1 = new PlantResponse(plantId1, "Paproć", null, 7, null);
+        PlantResponse plant2 = new PlantResponse(plantId2, "Mięta", null, 7, null);
 
-        when(plantService.getUserPlants(Sort.Direction.ASC, "name", email)).thenReturn(List.of(plant2, plant1));
+        when(plantService.getUserPlants(Sort.Direction.ASC, "name", null, null, userId))
+                .thenReturn(new PlantPage(List.of(plant2, plant1), null));
         mockMvc.perform(get("/api/plants"))
                 .andExpectAll(
                         status().isOk(),
@@ -108,18 +186,18 @@ class PlantControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com")
+    @WithMockUserPrincipal
     void getAllPlants_ReturnsPlantsSortedByNameAsc_WhenNoSortParamGiven() throws Exception {
         UUID plantId1 = UUID.randomUUID();
         UUID plantId2 = UUID.randomUUID();
         UUID plantId3 = UUID.randomUUID();
         Instant lastWateredAt = Instant.now().minus(Duration.ofDays(3));
-        PlantResponse plant1 = new PlantResponse(plantId1, "Paproć", lastWateredAt);
-        PlantResponse plant2 = new PlantResponse(plantId2, "Mięta", null);
-        PlantResponse plant3 = new PlantResponse(plantId3, "Oleander", null);
+        PlantResponse plant1 = new PlantResponse(plantId1, "Paproć", lastWateredAt, 7, null);
+        PlantResponse plant2 = new PlantResponse(plantId2, "Mięta", null, 7, null);
+        PlantResponse plant3 = new PlantResponse(plantId3, "Oleander", null, 7, null);
 
-        when(plantService.getUserPlants(Sort.Direction.ASC, "name", email))
-                .thenReturn(List.of(plant2, plant3, plant1));
+        when(plantService.getUserPlants(Sort.Direction.ASC, "name", null, null, userId))
+                .thenReturn(new PlantPage(List.of(plant2, plant3, plant1), null));
 
         mockMvc.perform(get("/api/plants"))
                 .andExpectAll(
@@ -144,10 +222,10 @@ class PlantControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com")
+    @WithMockUserPrincipal
     void getAllPlants_Returns200WithEmptyList_WhenNoPlantsExist() throws Exception {
-        when(plantService.getUserPlants(any(), any(), eq(email)))
-                .thenReturn(Collections.emptyList());
+        when(plantService.getUserPlants(any(), any(), any(), any(), eq(userId)))
+                .thenReturn(new PlantPage(Collections.emptyList(), null));
 
         mockMvc.perform(get("/api/plants"))
                 .andExpectAll(
@@ -158,13 +236,214 @@ class PlantControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com")
+    @WithMockUserPrincipal
+    void importPlants_Returns200WithCounts_WhenBodyIsCsv() throws Exception {
+        when(plantImportService.importPlants(eq(userId), eq(PlantExportFormat.CSV), any())).thenReturn(
+                new PlantImportResult(2, 1, 0, 1, List.of(new PlantImportResult.RejectedLine(4, "Name cannot be blank"))));
+
+        mockMvc.perform(post("/api/plants/import?format=csv")
+                .contentType("text/csv")
+                .content("name\nMięta\nOleander\nPaproć\n,\n"))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.imported").value(2),
+                        jsonPath("$.conflicts").value(1),
+                        jsonPath("$.rejected").value(1),
+                        jsonPath("$.rejectedLines[0].line").value(4)
+                );
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void importPlants_Returns501_WhenDatabaseCannotBulkImport() throws Exception {
+        when(plantImportService.importPlants(eq(userId), any(), any())).thenThrow(new BulkImportUnavailableException());
+
+        mockMvc.perform(post("/api/plants/import").content("{\"name\":\"Mięta\"}\n"))
+                .andExpect(status().isNotImplemented());
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void importPlants_Returns413_WhenUploadIsTooLarge() throws Exception {
+        when(plantImportService.importPlants(eq(userId), any(), any()))
+                .thenThrow(new ImportTooLargeException(DataSize.ofBytes(16)));
+
+        mockMvc.perform(post("/api/plants/import").content("{\"name\":\"Mięta\"}\n"))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void streamEvents_OpensEventStream_ForCurrentUser() throws Exception {
+        when(plantEventBroadcaster.subscribe(userId)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/plants/events"))
+                .andExpectAll(
+                        request().asyncStarted(),
+                        status().isOk()
+                );
+    }
+
+    @Test
+    void streamEvents_Returns403_WhenNotAuthenticated() throws Exception {
+        mockMvc.perform(get("/api/plants/events"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(plantEventBroadcaster);
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void exportPlants_StreamsNdjsonAttachment_ByDefault() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write("{\"name\":\"Mięta\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(plantExportService).exportPlants(eq(userId), eq(PlantExportFormat.NDJSON), any());
+
+        MvcResult result = mockMvc.perform(get("/api/plants/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentType("application/x-ndjson"),
+                        header().string("Content-Disposition", "attachment; filename=\"plants.ndjson\""),
+                        content().bytes("{\"name\":\"Mięta\"}\n".getBytes(StandardCharsets.UTF_8))
+                );
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void exportPlants_Returns400_WhenFormatIsUnknown() throws Exception {
+        mockMvc.perform(get("/api/plants/export?format=xlsx"))
+                .andExpectAll(
+                        status().isBadRequest(),
+                        jsonPath("$").value("Cannot export plants as 'xlsx'")
+                );
+
+        verifyNoInteractions(plantExportService);
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void getAllPlants_Returns304WithoutLoadingPlants_WhenETagMatches() throws Exception {
+        when(plantService.getUserPlants(any(), any(), any(), any(), eq(userId)))
+                .thenReturn(new PlantPage(Collections.emptyList(), null));
+        String etag = mockMvc.perform(get("/api/plants"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("no-cache")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/plants").header("If-None-Match", etag))
+                .andExpectAll(
+                        status().isNotModified(),
+                        header().string("ETag", etag),
+                        content().string("")
+                );
+
+        verify(plantService, times(1)).getUserPlants(any(), any(), any(), any(), eq(userId));
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void getAllPlants_Returns200_WhenPlantsChangedSinceETag() throws Exception {
+        when(plantService.getUserPlants(any(), any(), any(), any(), eq(userId)))
+                .thenReturn(new PlantPage(Collections.emptyList(), null));
+        String etag = plantListVersions.etag(userId);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            plantListVersions.onPlantChanged(PlantEvent.deleted(UUID.randomUUID(), userId));
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        mockMvc.perform(get("/api/plants").header("If-None-Match", etag))
+                .andExpectAll(
+                        status().isOk(),
+                        header().string("ETag", plantListVersions.etag(userId))
+                );
+        assertThat(plantListVersions.etag(userId)).isNotEqualTo(etag);
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void getAllPlants_ReturnsNextCursorHeader_WhenMorePlantsExist() throws Exception {
+        PlantResponse plant = new PlantResponse(UUID.randomUUID(), "Mięta", null, 7, null);
+
+        when(plantService.getUserPlants(Sort.Direction.DESC, "lastWateredAt", "abc", 1, userId))
+                .thenReturn(new PlantPage(List.of(plant), "next-cursor"));
+
+        mockMvc.perform(get("/api/plants?sort=lastWateredAt,desc&cursor=abc&limit=1"))
+                .andExpectAll(
+                        status().isOk(),
+                        header().string(PlantController.NEXT_CURSOR_HEADER, "next-cursor"),
+                        jsonPath("$", hasSize(1))
+                );
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void getAllPlants_OmitsNextCursorHeader_OnLastPage() throws Exception {
+        when(plantService.getUserPlants(any(), any(), any(), any(), eq(userId)))
+                .thenReturn(new PlantPage(Collections.emptyList(), null));
+
+        mockMvc.perform(get("/api/plants"))
+                .andExpectAll(
+                        status().isOk(),
+                        header().doesNotExist(PlantController.NEXT_CURSOR_HEADER)
+                );
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void getAllPlants_Returns400_WhenCursorIsInvalid() throws Exception {
+        when(plantService.getUserPlants(any(), any(), eq("garbage"), any(), eq(userId)))
+                .thenThrow(new InvalidPageRequestException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/plants?cursor=garbage"))
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().string("Invalid cursor")
+                );
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void getPlant_Returns200_WhenPlantExists() throws Exception {
+        UUID plantId = UUID.randomUUID();
+        when(plantService.getPlant(plantId, userId)).thenReturn(new PlantResponse(plantId, "Oleander", null, 7, null));
+
+        mockMvc.perform(get("/api/plants/" + plantId))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.id").value(plantId.toString()),
+                        jsonPath("$.name").value("Oleander")
+                );
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void getPlant_Returns404_WhenPlantNotFound() throws Exception {
+        UUID plantId = UUID.randomUUID();
+        when(plantService.getPlant(plantId, userId)).thenThrow(new PlantNotFoundException(plantId));
+
+        mockMvc.perform(get("/api/plants/" + plantId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUserPrincipal
     void updateLastWateredAt_Returns200_WhenValid() throws Exception {
         UUID plantId = UUID.randomUUID();
         Instant lastWateredAt = Instant.now();
 
-        when(plantService.updateLastWateredAt(any(), eq(email))).thenReturn(
-                new PlantResponse(plantId, "Oleander", lastWateredAt)
+        when(plantService.updateLastWateredAt(any(), eq(userId))).thenReturn(
+                new PlantResponse(plantId, "Oleander", lastWateredAt, 7, null)
         );
 
         mockMvc.perform(patch("/api/plants/" + plantId + "/last-watered")
@@ -178,12 +457,111 @@ class PlantControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com")
+    @WithMockUserPrincipal
+    void getStats_Returns200_WithUserStatistics() throws Exception {
+        int[] wateringsPerDay = new int[90];
+        wateringsPerDay[89] = 4;
+        when(plantStatsService.getStats(userId)).thenReturn(new PlantStatsResponse(12, 3, 6.5, wateringsPerDay));
+
+        mockMvc.perform(get("/api/plants/stats"))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.totalPlants").value(12),
+                        jsonPath("$.overduePlants").value(3),
+                        jsonPath("$.averageDaysBetweenWaterings").value(6.5),
+                        jsonPath("$.wateringsPerDay", hasSize(90)),
+                        jsonPath("$.wateringsPerDay[89]").value(4)
+                );
+        verifyNoInteractions(plantService);
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void getWaterings_Returns200_WithWateringsInRange() throws Exception {
+        UUID plantId = UUID.randomUUID();
+        Instant from = Instant.parse("2025-06-01T00:00:00Z");
+        Instant to = Instant.parse("2025-07-01T00:00:00Z");
+        Instant wateredAt = Instant.parse("2025-06-15T08:00:00Z");
+
+        when(plantService.getWaterings(plantId, userId, from, to, 100))
+                .thenReturn(List.of(new WateringResponse(wateredAt)));
+
+        mockMvc.perform(get("/api/plants/" + plantId + "/waterings")
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$", hasSize(1)),
+                        jsonPath("$[0].wateredAt").value(wateredAt.toString())
+                );
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void getWaterings_Returns404_WhenPlantNotFound() throws Exception {
+        UUID plantId = UUID.randomUUID();
+
+        when(plantService.getWaterings(eq(plantId), eq(userId), any(), any(), anyInt()))
+                .thenThrow(new PlantNotFoundException(plantId));
+
+        mockMvc.perform(get("/api/plants/" + plantId + "/waterings"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void updateWateringInterval_Returns200_WhenValid() throws Exception {
+        UUID plantId = UUID.randomUUID();
+        Instant nextDueAt = Instant.now().plus(Duration.ofDays(3));
+
+        when(plantService.updateWateringInterval(plantId, userId, 3)).thenReturn(
+                new PlantResponse(plantId, "Oleander", null, 3, nextDueAt)
+        );
+
+        mockMvc.perform(patch("/api/plants/" + plantId + "/watering-interval")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"wateringIntervalDays\":3}"))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.wateringIntervalDays").value(3),
+                        jsonPath("$.nextDueAt").value(nextDueAt.toString())
+                );
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void updateWateringInterval_Returns400_WhenIntervalIsNotPositive() throws Exception {
+        mockMvc.perform(patch("/api/plants/" + UUID.randomUUID() + "/watering-interval")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"wateringIntervalDays\":0}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(plantService);
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void getDuePlants_Returns200_WithPlantsDueBeforeGivenTime() throws Exception {
+        Instant before = Instant.parse("2025-06-01T08:00:00Z");
+        PlantResponse plant = new PlantResponse(UUID.randomUUID(), "Mięta", null, 7, before.minusSeconds(60));
+
+        when(plantService.getDuePlants(before, 100, userId)).thenReturn(List.of(plant));
+
+        mockMvc.perform(get("/api/plants/due").param("before", before.toString()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$", hasSize(1)),
+                        jsonPath("$[0].name").value("Mięta")
+                );
+    }
+
+    @Test
+    @WithMockUserPrincipal
     void updateLastWateredAt_Returns404_WhenPlantNotFound() throws Exception {
         UUID plantId = UUID.randomUUID();
         Instant lastWateredAt = Instant.now();
 
-        when(plantService.updateLastWateredAt(any(), eq(email)))
+        when(plantService.updateLastWateredAt(any(), eq(userId)))
                 .thenThrow(new PlantNotFoundException(plantId));
 
         mockMvc.perform(patch("/api/plants/" + plantId + "/last-watered")
@@ -197,7 +575,7 @@ class PlantControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com")
+    @WithMockUserPrincipal
     void updateLastWateredAt_Returns400_WhenInvalidDate() throws Exception {
 
         mockMvc.perform(patch("/api/plants/1/last-watered")
@@ -207,25 +585,56 @@ class PlantControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com")
+    @WithMockUserPrincipal
+    void waterPlants_Returns200WithWateredPlants_WhenIdsGiven() throws Exception {
+        UUID plantId = UUID.randomUUID();
+        Instant wateredAt = Instant.now();
+
+        when(plantService.waterPlants(any(), eq(userId)))
+                .thenReturn(List.of(new PlantResponse(plantId, "Oleander", wateredAt, 7, null)));
+
+        mockMvc.perform(post("/api/plants/watered")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"plantIds\":[\"" + plantId + "\"]}"))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$", hasSize(1)),
+                        jsonPath("$[0].id").value(plantId.toString()),
+                        jsonPath("$[0].lastWateredAt").value(wateredAt.toString())
+                );
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void waterPlants_Returns400_WhenNeitherIdsNorAllGiven() throws Exception {
+        mockMvc.perform(post("/api/plants/watered")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"plantIds\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(plantService);
+    }
+
+    @Test
+    @WithMockUserPrincipal
     void deletePlant_Returns204_WhenPlantExists() throws Exception {
         UUID plantId = UUID.randomUUID();
 
-        doNothing().when(plantService).deletePlant(plantId, email);
+        doNothing().when(plantService).deletePlant(plantId, userId);
 
         mockMvc.perform(delete("/api/plants/" + plantId))
                 .andExpect(status().isNoContent());
 
-        verify(plantService, times(1)).deletePlant(plantId, email);
+        verify(plantService, times(1)).deletePlant(plantId, userId);
     }
 
     @Test
-    @WithMockUser(username = "user@example.com")
+    @WithMockUserPrincipal
     void deletePlant_Returns404_WhenPlantMissing() throws Exception {
         UUID plantId = UUID.randomUUID();
 
         doThrow(new PlantNotFoundException(plantId))
-                .when(plantService).deletePlant(plantId, email);
+                .when(plantService).deletePlant(plantId, userId);
 
         mockMvc.perform(delete("/api/plants/" + plantId)
                 .with(csrf()))
@@ -237,20 +646,20 @@ class PlantControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com")
+    @WithMockUserPrincipal
     void deletePlant_Returns400_WhenInvalidId() throws Exception {
         mockMvc.perform(delete("/api/plants/NaN"))
                 .andExpect(status().isBadRequest());
     }
 
     @Test
-    @WithMockUser(username = "user@example.com")
+    @WithMockUserPrincipal
     void updatePlantName_Returns200_WhenValid() throws Exception {
         UUID plantId = UUID.randomUUID();
         String newName = "NewPlantName";
 
-        when(plantService.updatePlantName(any(), eq(email), eq(newName))).thenReturn(
-                new PlantResponse(plantId, newName, null)
+        when(plantService.updatePlantName(any(), eq(userId), eq(newName))).thenReturn(
+                new PlantResponse(plantId, newName, null, 7, null)
         );
 
         mockMvc.perform(patch("/api/plants/" + plantId + "/name")
@@ -264,7 +673,7 @@ class PlantControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "user@example.com")
+    @WithMockUserPrincipal
     void updatePlantName_Returns400_WhenNameIsBlank() throws Exception {
         UUID plantId = UUID.randomUUID();
 
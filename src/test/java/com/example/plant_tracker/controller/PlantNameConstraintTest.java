@@ -0,0 +1,133 @@
+package com.example.plant_tracker.controller;
+
+import com.example.plant_tracker.dto.AuthResponse;
+import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.model.Plant;
+import com.example.plant_tracker.model.User;
+import com.example.plant_tracker.repository.PlantRepository;
+import com.example.plant_tracker.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the per-user name rule through the real stack and database: the service relies
+ * on the database reporting {@link Plant#USER_NAME_CONSTRAINT} by name, which each
+ * database does in its own error message, so the subclasses run these tests on the H2
+ * stand-in and on PostgreSQL.
+ */
+abstract class PlantNameConstraintTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlantRepository plantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String token;
+
+    private String otherToken;
+
+    @BeforeEach
+    void registerUsers() throws Exception {
+        token = register();
+        otherToken = register();
+    }
+
+    @Test
+    void createPlant_ReturnsConflict_WhenUserAlreadyHasName() throws Exception {
+        createPlant(token, "Basil").andExpect(status().isCreated());
+
+        createPlant(token, "Basil")
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Plant 'Basil' already exists"));
+    }
+
+    @Test
+    void createPlant_Succeeds_WhenOtherUserHasName() throws Exception {
+        createPlant(token, "Basil").andExpect(status().isCreated());
+
+        createPlant(otherToken, "Basil").andExpect(status().isCreated());
+    }
+
+    @Test
+    void updatePlantName_ReturnsConflict_WhenUserAlreadyHasName() throws Exception {
+        createPlant(token, "Basil").andExpect(status().isCreated());
+        PlantResponse mint = read(createPlant(token, "Mint").andExpect(status().isCreated()).andReturn());
+
+        mockMvc.perform(patch("/api/plants/{id}/name", mint.id())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Basil\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Plant 'Basil' already exists"));
+    }
+
+    @Test
+    void insert_ReportsUserNameConstraint_WhenNameIsTaken() {
+        User user = userRepository.save(new User(null, "owner-" + UUID.randomUUID() + "@example.com",
+                "o" + UUID.randomUUID().toString().substring(0, 12), "password123", "ROLE_USER", new ArrayList<>()));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> plantRepository.saveAndFlush(new Plant("Basil", user)));
+
+        DataIntegrityViolationException e = catchThrowableOfType(DataIntegrityViolationException.class,
+                () -> transaction.executeWithoutResult(
+                        status -> plantRepository.saveAndFlush(new Plant("Basil", user))));
+
+        assertThat(e.getCause()).isInstanceOf(ConstraintViolationException.class);
+        assertThat(((ConstraintViolationException) e.getCause()).getConstraintName())
+                .containsIgnoringCase(Plant.USER_NAME_CONSTRAINT);
+    }
+
+    private ResultActions createPlant(String token, String name) throws Exception {
+        return mockMvc.perform(post("/api/plants")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\"}"));
+    }
+
+    private String register() throws Exception {
+        String email = "user-" + UUID.randomUUID() + "@example.com";
+        String username = "u" + UUID.randomUUID().toString().substring(0, 12);
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"username\":\"" + username
+                                + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class).jwt();
+    }
+
+    private PlantResponse read(MvcResult result) throws Exception {
+        return objectMapper.readValue(result.getResponse().getContentAsString(), PlantResponse.class);
+    }
+}
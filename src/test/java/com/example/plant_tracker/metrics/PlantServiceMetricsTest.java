@@ -0,0 +1,102 @@
+package com.example.plant_tracker.metrics;
+
+import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.exception.PlantNotFoundException;
+import com.example.plant_tracker.repository.PlantRepository;
+import com.example.plant_tracker.repository.WateringEventRepository;
+import com.example.plant_tracker.service.PlantService;
+import com.example.plant_tracker.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PlantServiceMetricsTest {
+
+    @Mock
+    private PlantRepository plantRepository;
+    @Mock
+    private UserService userService;
+    @Mock
+    private WateringEventRepository wateringEventRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final UUID userId = UUID.randomUUID();
+
+    private PlantService plantService;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(
+                new PlantService(plantRepository, userService, wateringEventRepository, eventPublisher,
+                        transactionManager));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new PlantServiceMetrics(meterRegistry));
+        plantService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void constructor_RegistersTimers_ForEveryPublicMethodAndOutcome() {
+        assertThat(meterRegistry.find(PlantServiceMetrics.TIMER).tag("method", "deletePlant").timers())
+                .extracting(timer -> timer.getId().getTag("outcome"))
+                .containsExactlyInAnyOrder(OutcomeTimer.SUCCESS, OutcomeTimer.REJECTED, OutcomeTimer.ERROR);
+    }
+
+    @Test
+    void time_RecordsSuccess_WhenMethodReturns() {
+        UUID plantId = UUID.randomUUID();
+        when(plantRepository.findResponseByIdAndUserId(plantId, userId))
+                .thenReturn(Optional.of(new PlantResponse(plantId, "Paproć", null, 7, null)));
+
+        plantService.getPlant(plantId, userId);
+
+        assertThat(count("getPlant", OutcomeTimer.SUCCESS)).isEqualTo(1);
+        assertThat(count("getPlant", OutcomeTimer.REJECTED)).isZero();
+    }
+
+    @Test
+    void time_RecordsRejected_WhenPlantNotFound() {
+        UUID plantId = UUID.randomUUID();
+        when(plantRepository.findResponseByIdAndUserId(plantId, userId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> plantService.getPlant(plantId, userId))
+                .isInstanceOf(PlantNotFoundException.class);
+
+        assertThat(count("getPlant", OutcomeTimer.REJECTED)).isEqualTo(1);
+    }
+
+    @Test
+    void time_RecordsError_WhenMethodFails() {
+        UUID plantId = UUID.randomUUID();
+        when(plantRepository.findResponseByIdAndUserId(plantId, userId))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        assertThatThrownBy(() -> plantService.getPlant(plantId, userId))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(count("getPlant", OutcomeTimer.ERROR)).isEqualTo(1);
+    }
+
+    private long count(String method, String outcome) {
+        return meterRegistry.get(PlantServiceMetrics.TIMER).tag("method", method).tag("outcome", outcome)
+                .timer().count();
+    }
+}
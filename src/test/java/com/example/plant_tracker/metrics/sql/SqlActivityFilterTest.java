@@ -0,0 +1,120 @@
+package com.example.plant_tracker.metrics.sql;
+
+import jakarta.servlet.FilterChain;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlActivityFilterTest {
+
+    private final SqlActivityListener listener = new SqlActivityListener(Duration.ofSeconds(1), 1.0);
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/plants");
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void doFilter_AddsServerTiming_WithStatementsRunBeforeCommit() throws Exception {
+        FilterChain chain = (req, res) -> {
+            runStatement();
+            runStatement();
+            res.getWriter().write("[]");
+            res.flushBuffer();
+            runStatement();
+        };
+
+        new SqlActivityFilter(true).doFilter(request, response, chain);
+
+        assertThat(response.getHeader(SqlActivityFilter.SERVER_TIMING_HEADER))
+                .matches("db;dur=\\d+\\.\\d;desc=\"2 statements\"");
+    }
+
+    @Test
+    void doFilter_AddsServerTiming_WhenResponseHasNoBody() throws Exception {
+        FilterChain chain = (req, res) -> runStatement();
+
+        new SqlActivityFilter(true).doFilter(request, response, chain);
+
+        assertThat(response.getHeader(SqlActivityFilter.SERVER_TIMING_HEADER)).endsWith("desc=\"1 statements\"");
+    }
+
+    @Test
+    void doFilter_CountsEachRequestOnItsOwn_WhenThreadIsReused() throws Exception {
+        new SqlActivityFilter(true).doFilter(request, new MockHttpServletResponse(), (req, res) -> runStatement());
+
+        new SqlActivityFilter(true).doFilter(request, response, (req, res) -> { });
+
+        assertThat(response.getHeader(SqlActivityFilter.SERVER_TIMING_HEADER)).endsWith("desc=\"0 statements\"");
+    }
+
+    @Test
+    void doFilter_LeavesOutServerTiming_WhenDisabled() throws Exception {
+        new SqlActivityFilter(false).doFilter(request, response, (req, res) -> runStatement());
+
+        assertThat(response.containsHeader(SqlActivityFilter.SERVER_TIMING_HEADER)).isFalse();
+    }
+
+    @Test
+    void doFilter_KeepsRunningTotalsInMdc_UntilRequestEnds() throws Exception {
+        List<String> seen = new ArrayList<>();
+        FilterChain chain = (req, res) -> {
+            seen.add(MDC.get(SqlActivityFilter.STATEMENTS_KEY));
+            runStatement();
+            runStatement();
+            seen.add(MDC.get(SqlActivityFilter.STATEMENTS_KEY));
+            seen.add(MDC.get(SqlActivityFilter.TIME_KEY));
+        };
+
+        new SqlActivityFilter(false).doFilter(request, response, chain);
+
+        assertThat(seen).hasSize(3);
+        assertThat(seen.subList(0, 2)).containsExactly("0", "2");
+        assertThat(seen.get(2)).matches("\\d+\\.\\d");
+        assertThat(MDC.get(SqlActivityFilter.STATEMENTS_KEY)).isNull();
+        assertThat(MDC.get(SqlActivityFilter.TIME_KEY)).isNull();
+    }
+
+    @Test
+    void doFilter_ClearsMdc_WhenChainThrows() {
+        FilterChain chain = (req, res) -> {
+            runStatement();
+            throw new IllegalStateException("boom");
+        };
+
+        assertThatThrownBy(() -> new SqlActivityFilter(false).doFilter(request, response, chain))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(MDC.get(SqlActivityFilter.STATEMENTS_KEY)).isNull();
+    }
+
+    @Test
+    void describe_MasksLiteralsAndBindValues() throws Exception {
+        QueryInfo query = new QueryInfo("select * from plants where name = 'Fern''s' and user_id = ? and last_watered < ?");
+        query.getParametersList().add(List.of(
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setObject", int.class, Object.class),
+                        new Object[]{1, UUID.randomUUID()}),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setTimestamp", int.class, Timestamp.class),
+                        new Object[]{2, new Timestamp(0)})));
+
+        assertThat(SqlActivityListener.describe(List.of(query)))
+                .isEqualTo("select * from plants where name = '?' and user_id = ? and last_watered < ? [UUID, Timestamp]");
+    }
+
+    private void runStatement() {
+        listener.beforeQuery(new ExecutionInfo(), List.of());
+        listener.afterQuery(new ExecutionInfo(), List.of());
+    }
+}
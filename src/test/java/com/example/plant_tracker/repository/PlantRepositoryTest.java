@@ -0,0 +1,87 @@
+package com.example.plant_tracker.repository;
+
+import com.example.plant_tracker.dto.PlantResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PlantRepositoryTest {
+
+    private static final Instant START = Instant.parse("2025-06-01T08:00:00Z");
+
+    @Autowired
+    private PlantRepository plantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void seedPlants() {
+        jdbcTemplate.update("insert into users (id, email, username, password, role) values (?, ?, ?, 'password', 'ROLE_USER')",
+                userId, userId + "@example.com", userId.toString());
+        for (int i = 0; i < 11; i++) {
+            // three plants per watering time, and a run of never-watered plants
+            Instant wateredAt = i < 8 ? START.plus(Duration.ofDays(i / 3)) : null;
+            jdbcTemplate.update("insert into plant (id, name, last_watered_at, user_id, watering_interval_days)"
+                            + " values (?, ?, ?, ?, 7)",
+                    UUID.randomUUID(), "plant" + i, wateredAt != null ? Timestamp.from(wateredAt) : null, userId);
+        }
+    }
+
+    @Test
+    void findPageByUserId_PagesThroughEveryPlant_ByLastWateredAtAscending() {
+        assertPagesMatchFullList(PlantSortProperty.LAST_WATERED_AT, Sort.Direction.ASC);
+    }
+
+    @Test
+    void findPageByUserId_PagesThroughEveryPlant_ByLastWateredAtDescending() {
+        List<PlantResponse> all = assertPagesMatchFullList(PlantSortProperty.LAST_WATERED_AT, Sort.Direction.DESC);
+
+        assertThat(all.get(0).lastWateredAt()).isEqualTo(START.plus(Duration.ofDays(2)));
+        assertThat(all.subList(8, 11)).allMatch(plant -> plant.lastWateredAt() == null);
+    }
+
+    @Test
+    void findPageByUserId_PagesThroughEveryPlant_ByNameDescending() {
+        List<PlantResponse> all = assertPagesMatchFullList(PlantSortProperty.NAME, Sort.Direction.DESC);
+
+        assertThat(all).isSortedAccordingTo(Comparator.comparing(PlantResponse::name).reversed());
+    }
+
+    private List<PlantResponse> assertPagesMatchFullList(PlantSortProperty property, Sort.Direction direction) {
+        List<PlantResponse> all = plantRepository.findSortedByUserId(userId, property, direction);
+        List<PlantResponse> paged = new ArrayList<>();
+        PlantCursor after = null;
+        do {
+            List<PlantResponse> page = plantRepository.findPageByUserId(userId, property, direction, after, 2);
+            paged.addAll(page);
+            PlantResponse last = page.isEmpty() ? null : page.get(page.size() - 1);
+            after = page.size() < 2 ? null
+                    : new PlantCursor(property, direction, last.id(), last.name(), last.lastWateredAt());
+        } while (after != null);
+
+        assertThat(all).hasSize(11);
+        assertThat(paged).containsExactlyElementsOf(all);
+        return all;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.plant_tracker.repository;
+
+import com.example.plant_tracker.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies the migrations to PostgreSQL, fills it with 5,000 users, 20 of them with 1,000
+ * plants each, and checks that the planner answers the hot queries, in the shape the
+ * repositories send them, with the index added for each.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// the seed has to be committed, and analyzed, to count for the planner
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostgresQueryPlanTest {
+
+    private static final String USER_ID = "'00000000-0000-0000-0000-000000000005'";
+
+    private static final String PLANT_ID = "'00000000-0000-0000-0001-000000000005'";
+
+    private static final String COLUMNS = "select id, name, last_watered_at, watering_interval_days, next_due_at";
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry, "query_plan");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedPlants() {
+        if (jdbcTemplate.queryForObject("select count(*) from users", Integer.class) > 0) {
+            return;
+        }
+        jdbcTemplate.update("insert into users (id, email, username, password, role)"
+                + " select " + userId("u") + ", 'user' || u || '@example.com', 'user' || u, 'password', 'ROLE_USER'"
+                + " from generate_series(1, 5000) u");
+        jdbcTemplate.update("insert into plant (id, name, last_watered_at, watering_interval_days, next_due_at, user_id)"
+                + " select gen_random_uuid(), 'plant' || p,"
+                + " case when p % 5 = 0 then null else now() - p * interval '1 hour' end, 7,"
+                + " now() + (p - 500) * interval '1 hour', " + userId("u")
+                + " from generate_series(1, 20) u, generate_series(1, 1000) p");
+        jdbcTemplate.update("update plant set id = " + PLANT_ID + " where user_id = " + USER_ID
+                + " and name = 'plant1'");
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void plantsByName_UseNameIndexWithoutSorting() {
+        assertThat(explain(COLUMNS + " from plant where user_id = " + USER_ID + " order by name, id limit 101"))
+                .contains("Index Scan using idx_plant_user_name_id on plant")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void plantsByNameAfterCursor_StartTheNameIndexScanAtCursor() {
+        assertThat(explain(COLUMNS + " from plant where user_id = " + USER_ID + " and name >= 'plant200'"
+                + " and (name, id) > ('plant200', " + PLANT_ID + ") order by name, id limit 101"))
+                .contains("Index Scan using idx_plant_user_name_id on plant")
+                .contains("Index Cond: ((user_id = '00000000-0000-0000-0000-000000000005'::uuid)"
+                        + " AND ((name)::text >= 'plant200'::text)")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void plantsByNameDescending_ScanNameIndexBackward() {
+        assertThat(explain(COLUMNS + " from plant where user_id = " + USER_ID
+                + " order by name desc, id desc limit 101"))
+                .contains("Index Scan Backward using idx_plant_user_name_id on plant")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void plantsByLastWateredAt_UseLastWateredIndexWithoutSorting() {
+        assertThat(explain(COLUMNS + " from plant where user_id = " + USER_ID
+                + " order by last_watered_at nulls last, id limit 101"))
+                .contains("Index Scan using idx_plant_user_last_watered on plant")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void plantsByLastWateredAtDescending_UseDescendingIndexWithoutSorting() {
+        assertThat(explain(COLUMNS + " from plant where user_id = " + USER_ID
+                + " order by last_watered_at desc nulls last, id desc limit 101"))
+                .contains("Index Scan using idx_plant_user_watered_desc on plant")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void duePlants_UseNextDueIndex() {
+        assertThat(explain(COLUMNS + " from plant where user_id = " + USER_ID
+                + " and next_due_at <= now() order by next_due_at, id limit 100"))
+                .contains("using idx_plant_user_next_due on plant")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void plantLookupByIdAndOwner_UsesPrimaryKey() {
+        assertThat(explain(COLUMNS + " from plant where id = " + PLANT_ID + " and user_id = " + USER_ID))
+                .contains("Index Scan using pk_plant on plant")
+                .contains("Filter: (user_id = '00000000-0000-0000-0000-000000000005'::uuid)");
+    }
+
+    @Test
+    void userByEmail_UsesEmailIndex() {
+        assertThat(explain("select id from users where email = 'user4105@example.com'"))
+                .contains("Index Scan using uk_users_email on users");
+    }
+
+    private static String userId(String number) {
+        return "('00000000-0000-0000-0000-' || lpad(" + number + "::text, 12, '0'))::uuid";
+    }
+
+    private String explain(String sql) {
+        List<String> plan = jdbcTemplate.queryForList("explain (costs off) " + sql, String.class);
+        return String.join("\n", plan);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.plant_tracker.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies the Flyway migrations to the H2 stand-in, lets Hibernate validate the entities
+ * against them and checks the indexes by their columns. H2 picks between indexes with
+ * the same leading column differently from PostgreSQL, so which index each hot query
+ * uses is checked on PostgreSQL, in {@link PostgresQueryPlanTest}.
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrations_AreApplied() {
+        Integer applied = jdbcTemplate.queryForObject(
+                "select count(*) from \"flyway_schema_history\" where \"success\"", Integer.class);
+
+        assertThat(applied).isPositive();
+    }
+
+    @Test
+    void plantIndexes_LeadWithOwner() {
+        assertThat(indexColumns("uk_plant_user_name")).containsExactly("user_id", "name");
+        assertThat(indexColumns("idx_plant_user_name_id")).containsExactly("user_id", "name", "id");
+        assertThat(indexColumns("idx_plant_user_last_watered")).containsExactly("user_id", "last_watered_at", "id");
+        assertThat(indexColumns("idx_plant_user_watered_desc")).containsExactly("user_id", "last_watered_at", "id");
+        assertThat(indexColumns("idx_plant_user_next_due")).containsExactly("user_id", "next_due_at");
+    }
+
+    @Test
+    void userEmailIndex_Exists() {
+        assertThat(indexColumns("uk_users_email")).containsExactly("email");
+    }
+
+    private List<String> indexColumns(String indexName) {
+        return jdbcTemplate.queryForList(
+                "select lower(ic.column_name) from information_schema.index_columns ic"
+                        + " join information_schema.indexes i on i.index_name = ic.index_name"
+                        + " and i.table_name = ic.table_name"
+                        + " where lower(i.index_name) like ? order by ic.ordinal_position",
+                String.class, indexName + "%");
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.plant_tracker.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(WateringEventRepository.class)
+class WateringEventRepositoryTest {
+
+    private static final Instant START = Instant.parse("2025-06-01T08:00:00Z");
+
+    @Autowired
+    private WateringEventRepository wateringEventRepository;
+
+    private final UUID plantId = UUID.randomUUID();
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void findByPlantId_ReturnsWateringsInRange_NewestFirst() {
+        List<WateringEvent> events = new ArrayList<>();
+        for (int day = 0; day < 10; day++) {
+            events.add(new WateringEvent(plantId, userId, START.plus(Duration.ofDays(day))));
+        }
+        events.add(new WateringEvent(UUID.randomUUID(), userId, START));
+        wateringEventRepository.insertAll(events);
+
+        List<Instant> waterings = wateringEventRepository.findByPlantId(plantId,
+                START.plus(Duration.ofDays(2)), START.plus(Duration.ofDays(6)), 100);
+
+        assertThat(waterings).containsExactly(
+                START.plus(Duration.ofDays(5)),
+                START.plus(Duration.ofDays(4)),
+                START.plus(Duration.ofDays(3)),
+                START.plus(Duration.ofDays(2)));
+    }
+
+    @Test
+    void findByPlantId_PagesBackwards_WhenOldestWateringIsNextUpperBound() {
+        List<WateringEvent> events = new ArrayList<>();
+        for (int day = 0; day < 5; day++) {
+            events.add(new WateringEvent(plantId, userId, START.plus(Duration.ofDays(day))));
+        }
+        wateringEventRepository.insertAll(events);
+
+        List<Instant> first = wateringEventRepository.findByPlantId(plantId, Instant.EPOCH, Instant.now(), 3);
+        List<Instant> second = wateringEventRepository.findByPlantId(plantId, Instant.EPOCH, first.get(2), 3);
+
+        assertThat(first).hasSize(3);
+        assertThat(second).containsExactly(START.plus(Duration.ofDays(1)), START);
+    }
+
+    @Test
+    void forEachSince_VisitsWateringsFromGivenTime() {
+        wateringEventRepository.insertAll(List.of(
+                new WateringEvent(plantId, userId, START.minus(Duration.ofDays(1))),
+                new WateringEvent(plantId, userId, START),
+                new WateringEvent(plantId, userId, START.plus(Duration.ofDays(1)))));
+        List<WateringEvent> visited = new ArrayList<>();
+
+        wateringEventRepository.forEachSince(START, visited::add);
+
+        assertThat(visited).containsExactlyInAnyOrder(
+                new WateringEvent(plantId, userId, START),
+                new WateringEvent(plantId, userId, START.plus(Duration.ofDays(1))));
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.plant_tracker.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private final UUID userId = UUID.randomUUID();
+
+    private final List<UUID> fired = new ArrayList<>();
+
+    private final Map<UUID, Long> firedAt = new HashMap<>();
+
+    private TimingWheel.ExpiryHandler recorder(TimingWheel wheel) {
+        return (plantId, user, deadline) -> {
+            fired.add(plantId);
+            firedAt.put(plantId, wheel.currentTick());
+        };
+    }
+
+    @Test
+    void advanceTo_FiresTimer_AtItsDeadline() {
+        TimingWheel wheel = new TimingWheel(4, 100, 0);
+        UUID plantId = UUID.randomUUID();
+        wheel.schedule(plantId, userId, 10);
+
+        wheel.advanceTo(9, recorder(wheel));
+        assertThat(fired).isEmpty();
+
+        wheel.advanceTo(10, recorder(wheel));
+        assertThat(fired).containsExactly(plantId);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advanceTo_FiresTimersOnEveryLevel_AtTheirDeadlines() {
+        TimingWheel wheel = new TimingWheel(4, 10_000, 1_000);
+        Random random = new Random(42);
+        Map<UUID, Long> deadlines = new HashMap<>();
+        long[] distances = {1, 63, 64, 65, 4_095, 4_096, 4_097, 262_143, 262_144, 300_000, 17_000_000};
+        for (long distance : distances) {
+            UUID plantId = UUID.randomUUID();
+            deadlines.put(plantId, 1_000 + distance);
+            wheel.schedule(plantId, userId, 1_000 + distance);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            UUID plantId = UUID.randomUUID();
+            long deadline = 1_001 + random.nextInt(400_000);
+            deadlines.put(plantId, deadline);
+            wheel.schedule(plantId, userId, deadline);
+        }
+
+        wheel.advanceTo(1_000 + 17_000_000, recorder(wheel));
+
+        assertThat(firedAt).isEqualTo(deadlines);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void schedule_ReplacesExistingTimer_ForSamePlant() {
+        TimingWheel wheel = new TimingWheel(4, 100, 0);
+        UUID plantId = UUID.randomUUID();
+        wheel.schedule(plantId, userId, 10);
+        wheel.schedule(plantId, userId, 5_000);
+
+        wheel.advanceTo(4_999, recorder(wheel));
+        assertThat(fired).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advanceTo(5_000, recorder(wheel));
+        assertThat(fired).containsExactly(plantId);
+    }
+
+    @Test
+    void schedule_FiresOnNextTick_WhenDeadlinePassed() {
+        TimingWheel wheel = new TimingWheel(4, 100, 100);
+        UUID plantId = UUID.randomUUID();
+        wheel.schedule(plantId, userId, 50);
+
+        wheel.advanceTo(101, recorder(wheel));
+
+        assertThat(fired).containsExactly(plantId);
+    }
+
+    @Test
+    void cancel_RemovesTimer() {
+        TimingWheel wheel = new TimingWheel(4, 100, 0);
+        UUID kept = UUID.randomUUID();
+        UUID cancelled = UUID.randomUUID();
+        wheel.schedule(kept, userId, 100);
+        wheel.schedule(cancelled, userId, 100);
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+        wheel.advanceTo(100, recorder(wheel));
+
+        assertThat(fired).containsExactly(kept);
+    }
+
+    @Test
+    void schedule_ReturnsFalse_WhenWheelIsFull() {
+        TimingWheel wheel = new TimingWheel(1, 3, 0);
+        for (int i = 0; i < 3; i++) {
+            assertThat(wheel.schedule(UUID.randomUUID(), userId, 10)).isTrue();
+        }
+
+        assertThat(wheel.schedule(UUID.randomUUID(), userId, 10)).isFalse();
+        assertThat(wheel.size()).isEqualTo(3);
+    }
+
+    @Test
+    void schedule_ReusesSlotsOfFiredAndCancelledTimers() {
+        TimingWheel wheel = new TimingWheel(2, 2, 0);
+        Random random = new Random(7);
+        List<UUID> pending = new ArrayList<>();
+        for (int round = 0; round < 1_000; round++) {
+            if (pending.size() == 2) {
+                assertThat(wheel.cancel(pending.remove(random.nextInt(2)))).isTrue();
+            }
+            UUID plantId = UUID.randomUUID();
+            assertThat(wheel.schedule(plantId, userId, wheel.currentTick() + 1 + random.nextInt(5_000))).isTrue();
+            pending.add(plantId);
+        }
+
+        wheel.advanceTo(wheel.currentTick() + 5_000, recorder(wheel));
+
+        assertThat(fired).containsExactlyInAnyOrderElementsOf(pending);
+    }
+
+    @Test
+    void expiryHandler_ReceivesOwnerOfPlant() {
+        TimingWheel wheel = new TimingWheel(4, 100, 0);
+        UUID plantId = UUID.randomUUID();
+        wheel.schedule(plantId, userId, 3);
+        List<UUID> owners = new ArrayList<>();
+
+        wheel.advanceTo(3, (plant, user, deadline) -> owners.add(user));
+
+        assertThat(owners).containsExactly(userId);
+    }
+}
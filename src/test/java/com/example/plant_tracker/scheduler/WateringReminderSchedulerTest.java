@@ -0,0 +1,139 @@
+package com.example.plant_tracker.scheduler;
+
+import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.event.PlantEvent;
+import com.example.plant_tracker.event.WateringReminderEvent;
+import com.example.plant_tracker.repository.PlantDueTime;
+import com.example.plant_tracker.repository.PlantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WateringReminderSchedulerTest {
+
+    private static final Instant START = Instant.parse("2025-06-01T08:00:00Z");
+
+    @Mock
+    private PlantRepository plantRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final MutableClock clock = new MutableClock(START);
+
+    private final UUID userId = UUID.randomUUID();
+
+    private WateringReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new WateringReminderScheduler(plantRepository, transactionManager, eventPublisher,
+                clock, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    void rebuild_SchedulesPlantsDueAfterNow() {
+        UUID plantId = UUID.randomUUID();
+        Instant dueAt = START.plus(Duration.ofHours(2));
+        when(plantRepository.streamDueAfter(START))
+                .thenReturn(Stream.of(new PlantDueTime(plantId, userId, dueAt)));
+
+        scheduler.rebuild();
+
+        assertThat(scheduler.pendingReminders()).isEqualTo(1);
+        clock.advance(Duration.ofHours(2));
+        scheduler.fireDueReminders();
+        verify(eventPublisher).publishEvent(new WateringReminderEvent(plantId, userId, dueAt));
+    }
+
+    @Test
+    void fireDueReminders_DoesNotFireEarly() {
+        UUID plantId = UUID.randomUUID();
+        Instant dueAt = START.plus(Duration.ofMinutes(10)).plusSeconds(30);
+        scheduler.onPlantChanged(PlantEvent.of(PlantEvent.Type.CREATED,
+                new PlantResponse(plantId, "Paproć", null, 7, dueAt), userId));
+
+        clock.advance(Duration.ofMinutes(10).plusSeconds(29));
+        scheduler.fireDueReminders();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        clock.advance(Duration.ofSeconds(31));
+        scheduler.fireDueReminders();
+        verify(eventPublisher).publishEvent(any(WateringReminderEvent.class));
+    }
+
+    @Test
+    void onPlantChanged_ReschedulesWateredPlant() {
+        UUID plantId = UUID.randomUUID();
+        scheduler.onPlantChanged(PlantEvent.of(PlantEvent.Type.CREATED,
+                new PlantResponse(plantId, "Paproć", null, 7, START.plus(Duration.ofMinutes(5))), userId));
+        scheduler.onPlantChanged(PlantEvent.of(PlantEvent.Type.WATERED,
+                new PlantResponse(plantId, "Paproć", START, 7, START.plus(Duration.ofDays(7))), userId));
+
+        clock.advance(Duration.ofHours(1));
+        scheduler.fireDueReminders();
+
+        verifyNoInteractions(eventPublisher);
+        assertThat(scheduler.pendingReminders()).isEqualTo(1);
+    }
+
+    @Test
+    void onPlantChanged_CancelsReminder_WhenPlantIsDeleted() {
+        UUID plantId = UUID.randomUUID();
+        scheduler.onPlantChanged(PlantEvent.of(PlantEvent.Type.CREATED,
+                new PlantResponse(plantId, "Paproć", null, 7, START.plus(Duration.ofMinutes(5))), userId));
+        scheduler.onPlantChanged(PlantEvent.deleted(plantId, userId));
+
+        clock.advance(Duration.ofHours(1));
+        scheduler.fireDueReminders();
+
+        verifyNoInteractions(eventPublisher);
+        assertThat(scheduler.pendingReminders()).isZero();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
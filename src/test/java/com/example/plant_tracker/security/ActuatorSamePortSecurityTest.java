@@ -0,0 +1,38 @@
+package com.example.plant_tracker.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The actuator endpoints with {@code MANAGEMENT_PORT} set to the API's own port.
+ */
+@SpringBootTest(properties = {"server.port=8080", "management.server.port=8080"})
+@AutoConfigureMockMvc
+// metrics export, and with it the scrape endpoint, is off in tests unless asked for
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles({"h2", "integration"})
+class ActuatorSamePortSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheus_IsRefused_OnApiPort() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void health_StaysOpen_OnApiPort() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
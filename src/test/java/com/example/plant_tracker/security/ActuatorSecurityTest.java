@@ -0,0 +1,54 @@
+package com.example.plant_tracker.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The actuator endpoints as deployed by default, on a management port of their own.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+// metrics export, and with it the scrape endpoint, is off in tests unless asked for
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles({"h2", "integration"})
+class ActuatorSecurityTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void prometheus_IsOpen_OnManagementPort() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains("plant_service");
+    }
+
+    @Test
+    void health_IsOpen_OnManagementPort() {
+        assertThat(restTemplate.getForEntity("http://localhost:" + managementPort + "/actuator/health", String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void actuator_IsNotServed_OnApiPort() {
+        assertThat(restTemplate.getForEntity("http://localhost:" + port + "/actuator/prometheus", String.class)
+                .getStatusCode()).isNotEqualTo(HttpStatus.OK);
+    }
+}
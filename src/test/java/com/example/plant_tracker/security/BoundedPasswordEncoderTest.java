@@ -0,0 +1,82 @@
+package com.example.plant_tracker.security;
+
+import com.example.plant_tracker.exception.AuthenticationBusyException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void matches_AcceptsPasswordItEncoded() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, 1, 1);
+
+        String hash = encoder.encode("password123");
+
+        assertThat(encoder.matches("password123", hash)).isTrue();
+        assertThat(encoder.matches("password124", hash)).isFalse();
+        encoder.destroy();
+    }
+
+    @Test
+    void upgradeEncoding_IsTrue_WhenStoredCostDiffers() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(5, 1, 1);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password123"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password123"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password123"))).isFalse();
+        assertThat(encoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+        encoder.destroy();
+    }
+
+    @Test
+    void encode_ThrowsAuthenticationBusyException_WhenThreadsAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(started, release), 4, 1, 1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        waitUntilQueued(queued);
+
+        assertThatThrownBy(() -> encoder.encode("third")).isInstanceOf(AuthenticationBusyException.class);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+        encoder.destroy();
+    }
+
+    private static void waitUntilQueued(CompletableFuture<String> queued) throws InterruptedException {
+        // the second call can only be waiting in the queue, as the single thread is blocked
+        Thread.sleep(200);
+        assertThat(queued).isNotDone();
+    }
+
+    private record BlockingEncoder(CountDownLatch started, CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.plant_tracker.security;
+
+import org.springframework.security.test.context.support.WithSecurityContext;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Runs a test as a {@link UserPrincipal}, the principal {@code JwtAuthFilter} sets for
+ * requests carrying a valid token.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@WithSecurityContext(factory = WithMockUserPrincipalSecurityContextFactory.class)
+public @interface WithMockUserPrincipal {
+
+    String id() default "00000000-0000-0000-0000-000000000001";
+
+    String email() default "user@example.com";
+
+    String role() default "ROLE_USER";
+}
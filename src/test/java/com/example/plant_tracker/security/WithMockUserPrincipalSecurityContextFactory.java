@@ -0,0 +1,22 @@
+package com.example.plant_tracker.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithSecurityContextFactory;
+
+import java.util.List;
+import java.util.UUID;
+
+public class WithMockUserPrincipalSecurityContextFactory implements WithSecurityContextFactory<WithMockUserPrincipal> {
+
+    @Override
+    public SecurityContext createSecurityContext(WithMockUserPrincipal annotation) {
+        UserPrincipal principal = new UserPrincipal(UUID.fromString(annotation.id()), annotation.email(), annotation.role());
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority(annotation.role()))));
+        return context;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.plant_tracker.security.jwt;
+
+import com.example.plant_tracker.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdGluZy1wdXJwb3Nlcy1vbmx5LTEyMzQ1Njc4OTA=";
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final JwtUtils jwtUtils = new JwtUtils(SECRET, 100, meterRegistry);
+
+    @Test
+    void verify_ReturnsClaims_WhenTokenIsValid() {
+        String token = jwtUtils.generateToken(USER_ID, "user@example.com", "ROLE_USER");
+
+        Optional<Claims> claims = jwtUtils.verify(token);
+
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getSubject()).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void generateToken_GivesEachTokenItsOwnId() {
+        Claims first = jwtUtils.verify(jwtUtils.generateToken(USER_ID, "user@example.com", "ROLE_USER")).orElseThrow();
+        Claims second = jwtUtils.verify(jwtUtils.generateToken(USER_ID, "user@example.com", "ROLE_USER")).orElseThrow();
+
+        assertThat(UUID.fromString(first.getId())).isNotEqualTo(UUID.fromString(second.getId()));
+    }
+
+    @Test
+    void toPrincipal_ReturnsUserIdEmailAndRole_FromClaims() {
+        String token = jwtUtils.generateToken(USER_ID, "user@example.com", "ROLE_USER");
+
+        UserPrincipal principal = jwtUtils.verify(token).flatMap(jwtUtils::toPrincipal).orElseThrow();
+
+        assertThat(principal.id()).isEqualTo(USER_ID);
+        assertThat(principal.getName()).isEqualTo("user@example.com");
+        assertThat(principal.role()).isEqualTo("ROLE_USER");
+    }
+
+    @Test
+    void toPrincipal_ReturnsEmpty_WhenTokenHasNoUserIdClaim() {
+        String token = Jwts.builder()
+                .subject("user@example.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+
+        Claims claims = jwtUtils.verify(token).orElseThrow();
+
+        assertThat(jwtUtils.toPrincipal(claims)).isEmpty();
+    }
+
+    @Test
+    void verify_ReturnsSameClaims_WhenTokenIsVerifiedTwice() {
+        String token = jwtUtils.generateToken(USER_ID, "user@example.com", "ROLE_USER");
+
+        Claims first = jwtUtils.verify(token).orElseThrow();
+        Claims second = jwtUtils.verify(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void verify_ReturnsEmpty_WhenSignatureIsTampered() {
+        String token = jwtUtils.generateToken(USER_ID, "user@example.com", "ROLE_USER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(jwtUtils.verify(tampered)).isEmpty();
+    }
+
+    @Test
+    void verify_ReturnsEmpty_WhenTokenIsExpired() {
+        String token = Jwts.builder()
+                .subject("user@example.com")
+                .issuedAt(new Date(System.currentTimeMillis() - 20_000))
+                .expiration(new Date(System.currentTimeMillis() - 10_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+
+        assertThat(jwtUtils.verify(token)).isEmpty();
+    }
+
+    @Test
+    void verify_ReturnsEmpty_WhenTokenIsMalformed() {
+        assertThat(jwtUtils.verify("not-a-jwt")).isEmpty();
+    }
+
+    @Test
+    void verify_RecordsOutcome_PerVerification() {
+        String token = jwtUtils.generateToken(USER_ID, "user@example.com", "ROLE_USER");
+
+        jwtUtils.verify(token);
+        jwtUtils.verify(token);
+        jwtUtils.verify("not-a-jwt");
+
+        assertThat(meterRegistry.get(JwtUtils.VERIFY_TIMER).tag("outcome", "verified").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(JwtUtils.VERIFY_TIMER).tag("outcome", "cached").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(JwtUtils.VERIFY_TIMER).tag("outcome", "invalid").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void verify_WorksWithoutCache_WhenCacheIsDisabled() {
+        JwtUtils uncached = new JwtUtils(SECRET, 0, new SimpleMeterRegistry());
+        String token = uncached.generateToken(USER_ID, "user@example.com", "ROLE_USER");
+
+        assertThat(uncached.verify(token)).isPresent();
+        assertThat(uncached.verify(token)).isPresent();
+    }
+
+    @Test
+    void verifiedTokenCache_DoesNotGrowPastMaxSize() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            String token = jwtUtils.generateToken(USER_ID, "user" + i + "@example.com", "ROLE_USER");
+            cache.put(VerifiedTokenCache.Digest.of(token), jwtUtils.verify(token).orElseThrow(), now);
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void verifiedTokenCache_CachesNewToken_WhenFullOfLiveTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 2; i++) {
+            String token = jwtUtils.generateToken(USER_ID, "user" + i + "@example.com", "ROLE_USER");
+            cache.put(VerifiedTokenCache.Digest.of(token), jwtUtils.verify(token).orElseThrow(), now);
+        }
+        String token = jwtUtils.generateToken(USER_ID, "new@example.com", "ROLE_USER");
+        VerifiedTokenCache.Digest digest = VerifiedTokenCache.Digest.of(token);
+
+        cache.put(digest, jwtUtils.verify(token).orElseThrow(), now);
+
+        assertThat(cache.get(digest, now)).isNotNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void verifiedTokenCache_DropsEntry_WhenTokenExpires() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        String token = jwtUtils.generateToken(USER_ID, "user@example.com", "ROLE_USER");
+        Claims claims = jwtUtils.verify(token).orElseThrow();
+
+        long afterExpiry = claims.getExpiration().getTime() + 1;
+
+        VerifiedTokenCache.Digest digest = VerifiedTokenCache.Digest.of(token);
+
+        assertThat(cache.get(digest, afterExpiry)).isNull();
+        cache.put(digest, claims, System.currentTimeMillis());
+        assertThat(cache.get(digest, afterExpiry)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.plant_tracker.security.jwt;
+
+import com.example.plant_tracker.repository.RevokedToken;
+import com.example.plant_tracker.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationsTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+    @Mock
+    private RevokedTokenRepository repository;
+
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @Test
+    void revoke_PersistsAndRevokesTokenAtOnce() {
+        TokenRevocations revocations = new TokenRevocations(repository, 100, clock);
+        Claims claims = claims(UUID.randomUUID());
+
+        assertThat(revocations.revoke(claims)).isTrue();
+
+        verify(repository).insert(new RevokedToken(UUID.fromString(claims.getId()), claims.getExpiration().toInstant()));
+        assertThat(revocations.isRevoked(claims)).isTrue();
+        assertThat(revocations.isRevoked(claims(UUID.randomUUID()))).isFalse();
+    }
+
+    @Test
+    void revoke_ReturnsFalse_WhenTokenHasNoId() {
+        TokenRevocations revocations = new TokenRevocations(repository, 100, clock);
+        Claims claims = Jwts.claims().subject("user@example.com").expiration(Date.from(NOW.plusSeconds(60))).build();
+
+        assertThat(revocations.revoke(claims)).isFalse();
+
+        verify(repository, never()).insert(any());
+        assertThat(revocations.isRevoked(claims)).isFalse();
+    }
+
+    @Test
+    void revoke_KeepsEveryTokenRevoked_WhenFilterOutgrowsItsCapacity() {
+        TokenRevocations revocations = new TokenRevocations(repository, 4, clock);
+        List<Claims> revoked = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Claims claims = claims(UUID.randomUUID());
+            revocations.revoke(claims);
+            revoked.add(claims);
+        }
+
+        assertThat(revoked).allMatch(revocations::isRevoked);
+    }
+
+    @Test
+    void refresh_DropsExpiredRowsAndLoadsTheRest() {
+        UUID jti = UUID.randomUUID();
+        when(repository.findUnexpired(NOW)).thenReturn(List.of(new RevokedToken(jti, NOW.plus(Duration.ofHours(1)))));
+        TokenRevocations revocations = new TokenRevocations(repository, 100, clock);
+
+        revocations.refresh();
+
+        verify(repository).deleteExpired(NOW);
+        assertThat(revocations.isRevoked(claims(jti))).isTrue();
+    }
+
+    @Test
+    void refresh_ForgetsTokensNoLongerInTable() {
+        TokenRevocations revocations = new TokenRevocations(repository, 100, clock);
+        Claims claims = claims(UUID.randomUUID());
+        revocations.revoke(claims);
+
+        revocations.refresh();
+
+        assertThat(revocations.isRevoked(claims)).isFalse();
+    }
+
+    @Test
+    void bloomFilter_HasNoFalseNegativesAndFewFalsePositives_AtCapacity() {
+        TokenBloomFilter filter = new TokenBloomFilter(10_000);
+        List<UUID> added = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            filter.add(id);
+            added.add(id);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(added).allMatch(filter::mightContain);
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    private static Claims claims(UUID jti) {
+        return Jwts.claims()
+                .id(jti.toString())
+                .subject("user@example.com")
+                .expiration(Date.from(NOW.plus(Duration.ofHours(1))))
+                .build();
+    }
+}
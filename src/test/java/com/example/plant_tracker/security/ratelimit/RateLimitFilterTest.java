@@ -0,0 +1,157 @@
+package com.example.plant_tracker.security.ratelimit;
+
+import com.example.plant_tracker.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-15T10:00:00Z"));
+
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimitProperties(true, 100, List.of(
+            new RateLimitProperties.Rule("/api/auth/login", HttpMethod.POST, RateLimitProperties.KeyType.IP,
+                    2, Duration.ofMinutes(1)),
+            new RateLimitProperties.Rule("/api/plants/**", null, RateLimitProperties.KeyType.USER,
+                    1, Duration.ofSeconds(10)))), clock);
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_RejectsWithRetryAfter_WhenAddressExceedsLoginLimit() throws Exception {
+        assertThat(send("POST", "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = send("POST", "/api/auth/login", "10.0.0.1");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("30");
+        assertThat(send("POST", "/api/auth/login", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_AllowsAgain_AfterTokenRefills() throws Exception {
+        send("POST", "/api/auth/login", "10.0.0.1");
+        send("POST", "/api/auth/login", "10.0.0.1");
+        assertThat(send("POST", "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(429);
+
+        clock.advance(Duration.ofSeconds(30));
+
+        assertThat(send("POST", "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void doFilter_LimitsEachUserSeparately_WhenRuleIsPerUser() throws Exception {
+        authenticate(UUID.randomUUID());
+        assertThat(send("GET", "/api/plants", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("GET", "/api/plants/due", "10.0.0.1").getStatus()).isEqualTo(429);
+
+        authenticate(UUID.randomUUID());
+        assertThat(send("GET", "/api/plants", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_LimitsIpv6AddressesPerSlash64() throws Exception {
+        send("POST", "/api/auth/login", "2001:db8:1:2::1");
+        send("POST", "/api/auth/login", "2001:db8:1:2:aaaa:bbbb:cccc:dddd");
+
+        assertThat(send("POST", "/api/auth/login", "2001:db8:1:2::ffff").getStatus()).isEqualTo(429);
+        assertThat(send("POST", "/api/auth/login", "2001:db8:1:3::1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void clientAddress_KeepsIpv4AndUnwrapsMappedIpv6() {
+        assertThat(RateLimitFilter.clientAddress("10.0.0.1")).isEqualTo("10.0.0.1");
+        assertThat(RateLimitFilter.clientAddress("::ffff:10.0.0.1")).isEqualTo("10.0.0.1");
+        assertThat(RateLimitFilter.clientAddress("2001:db8::1"))
+                .isEqualTo(RateLimitFilter.clientAddress("2001:0db8:0000:0000:ffff::"));
+    }
+
+    @Test
+    void doFilter_DoesNotLimit_WhenNoRuleMatches() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(send("GET", "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+            assertThat(send("POST", "/api/auth/register", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void rateLimiter_DropsRefilledBuckets_WhenFull() {
+        RateLimiter limiter = new RateLimiter(1, Duration.ofSeconds(1), 2);
+        long now = 0;
+
+        assertThat(limiter.acquire("a", now)).isZero();
+        assertThat(limiter.acquire("b", now)).isZero();
+        // both buckets are still refilling, so new keys share the overflow bucket
+        assertThat(limiter.acquire("c", now)).isZero();
+        assertThat(limiter.acquire("d", now)).isPositive();
+        assertThat(limiter.size()).isEqualTo(2);
+
+        now += TimeUnit.SECONDS.toNanos(2);
+        assertThat(limiter.acquire("c", now)).isZero();
+        assertThat(limiter.acquire("c", now)).isPositive();
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    private MockHttpServletResponse send(String method, String path, String address) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void authenticate(UUID userId) {
+        UserPrincipal principal = new UserPrincipal(userId, "user@example.com", "ROLE_USER");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
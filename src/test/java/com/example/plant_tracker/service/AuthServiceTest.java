@@ -5,20 +5,34 @@ import com.example.plant_tracker.dto.LoginRequest;
 import com.example.plant_tracker.dto.RegisterRequest;
 import com.example.plant_tracker.exception.EmailExistsException;
 import com.example.plant_tracker.model.User;
+import com.example.plant_tracker.security.AuthUser;
 import com.example.plant_tracker.security.jwt.JwtUtils;
+import com.example.plant_tracker.security.jwt.TokenRevocations;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,14 +47,19 @@ class AuthServiceTest {
     @Mock
     private JwtUtils jwtUtils;
 
+    @Mock
+    private TokenRevocations tokenRevocations;
+
     @Mock
     private AuthenticationManager authenticationManager;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private AuthService authService;
 
     @BeforeEach
     void setUp() {
-        authService = new AuthService(authenticationManager, jwtUtils, userService, passwordEncoder);
+        authService = new AuthService(authenticationManager, jwtUtils, tokenRevocations, userService, passwordEncoder, meterRegistry);
     }
 
     @Test
@@ -51,7 +70,7 @@ class AuthServiceTest {
         when(userService.existsByEmail(any())).thenReturn(false);
         when(passwordEncoder.encode("password123")).thenReturn("encoded_password");
         when(userService.createUser(any(User.class))).thenReturn(savedUser);
-        when(jwtUtils.generateToken("test@example.com")).thenReturn("jwt-token");
+        when(jwtUtils.generateToken(savedUser.getId(), "test@example.com", "ROLE_USER")).thenReturn("jwt-token");
 
         AuthResponse response = authService.register(request);
 
@@ -67,19 +86,55 @@ class AuthServiceTest {
         when(userService.existsByEmail("test@example.com")).thenReturn(true);
 
         assertThrows(EmailExistsException.class, () -> authService.register(request));
+        assertEquals(1, meterRegistry.get("auth.register").tag("outcome", "rejected").timer().count());
+    }
 
+    @Test
+    void register_EmailTakenConcurrently_ThrowsEmailExistsException() {
+        RegisterRequest request = new RegisterRequest("test@example.com", "user", "password123");
+
+        when(userService.existsByEmail("test@example.com")).thenReturn(false);
+        when(passwordEncoder.encode("password123")).thenReturn("encoded_password");
+        when(userService.createUser(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException(), User.EMAIL_CONSTRAINT)));
+
+        assertThrows(EmailExistsException.class, () -> authService.register(request));
+    }
+
+    @Test
+    void revoke_RevokesToken_WhenTokenIsValid() {
+        Claims claims = Jwts.claims().id(UUID.randomUUID().toString()).build();
+        when(jwtUtils.verify("jwt-token")).thenReturn(Optional.of(claims));
+
+        authService.revoke("jwt-token");
+
+        verify(tokenRevocations).revoke(claims);
+    }
+
+    @Test
+    void revoke_DoesNothing_WhenTokenIsInvalid() {
+        when(jwtUtils.verify("jwt-token")).thenReturn(Optional.empty());
+
+        authService.revoke("jwt-token");
+
+        verifyNoInteractions(tokenRevocations);
     }
 
     @Test
     void login_Success_ReturnsAuthResponse() {
         LoginRequest request = new LoginRequest("test@example.com", "password123");
-        when(authenticationManager.authenticate(any())).thenReturn(null);
-        when(jwtUtils.generateToken("test@example.com")).thenReturn("jwt-token");
+        UUID userId = UUID.randomUUID();
+        AuthUser authUser = new AuthUser(userId, "test@example.com", "encoded_password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(authUser, null, authUser.getAuthorities()));
+        when(jwtUtils.generateToken(userId, "test@example.com", "ROLE_USER")).thenReturn("jwt-token");
 
         AuthResponse response = authService.login(request);
 
         assertEquals("jwt-token", response.jwt());
         assertEquals("Login successful", response.message());
+        assertEquals(1, meterRegistry.get("auth.login").tag("outcome", "success").timer().count());
     }
 
     @Test
@@ -89,6 +144,8 @@ class AuthServiceTest {
                 .thenThrow(new BadCredentialsException("Bad credentials"));
 
         assertThrows(BadCredentialsException.class, () -> authService.login(request));
+        assertEquals(1, meterRegistry.get("auth.login").tag("outcome", "rejected").timer().count());
+        assertEquals(0, meterRegistry.get("auth.login").tag("outcome", "success").timer().count());
     }
 
     private User createTestUser(String email, String username) {
@@ -0,0 +1,154 @@
+package com.example.plant_tracker.service;
+
+import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.event.PlantEvent;
+import com.example.plant_tracker.event.PlantsImportedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlantEventBroadcasterTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private final Queue<Runnable> senderTasks = new ArrayDeque<>();
+
+    private final PlantEventBroadcaster broadcaster =
+            new PlantEventBroadcaster(senderTasks::add, Duration.ofMinutes(1), 2, 2);
+
+    @Test
+    void onPlantChanged_SendsEventToOwnerOnly() {
+        RecordingEmitter owner = new RecordingEmitter();
+        RecordingEmitter other = new RecordingEmitter();
+        broadcaster.subscribe(USER_ID, owner);
+        broadcaster.subscribe(UUID.randomUUID(), other);
+
+        broadcaster.onPlantChanged(PlantEvent.of(PlantEvent.Type.CREATED, plant("Mięta"), USER_ID));
+        runSender();
+
+        assertThat(owner.events).containsExactly("created:Mięta");
+        assertThat(other.events).isEmpty();
+    }
+
+    @Test
+    void onPlantChanged_CoalescesChangesToSamePlant_WhileSubscriberIsBehind() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(USER_ID, emitter);
+        PlantResponse plant = plant("Mięta");
+        PlantResponse renamed = new PlantResponse(plant.id(), "Mięta pieprzowa", null, 7, null);
+
+        broadcaster.onPlantChanged(PlantEvent.of(PlantEvent.Type.CREATED, plant, USER_ID));
+        broadcaster.onPlantChanged(PlantEvent.of(PlantEvent.Type.CREATED, plant("Oleander"), USER_ID));
+        broadcaster.onPlantChanged(PlantEvent.of(PlantEvent.Type.RENAMED, renamed, USER_ID));
+        runSender();
+
+        assertThat(emitter.events).containsExactly("created:Oleander", "renamed:Mięta pieprzowa");
+    }
+
+    @Test
+    void onPlantChanged_SendsResyncInstead_WhenBufferOverflows() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(USER_ID, emitter);
+
+        for (int i = 0; i < 3; i++) {
+            broadcaster.onPlantChanged(PlantEvent.of(PlantEvent.Type.CREATED, plant("Plant " + i), USER_ID));
+        }
+        runSender();
+        broadcaster.onPlantsImported(new PlantsImportedEvent(USER_ID, 100));
+        runSender();
+
+        assertThat(emitter.events).containsExactly(PlantEventBroadcaster.RESYNC, PlantEventBroadcaster.RESYNC);
+    }
+
+    @Test
+    void resyncAll_SendsResyncToEveryStream() {
+        RecordingEmitter owner = new RecordingEmitter();
+        RecordingEmitter other = new RecordingEmitter();
+        broadcaster.subscribe(USER_ID, owner);
+        broadcaster.subscribe(UUID.randomUUID(), other);
+
+        broadcaster.resyncAll();
+        runSender();
+
+        assertThat(owner.events).containsExactly(PlantEventBroadcaster.RESYNC);
+        assertThat(other.events).containsExactly(PlantEventBroadcaster.RESYNC);
+    }
+
+    @Test
+    void subscribe_ClosesOldestStream_WhenUserHasTooMany() {
+        RecordingEmitter first = new RecordingEmitter();
+        broadcaster.subscribe(USER_ID, first);
+        broadcaster.subscribe(USER_ID, new RecordingEmitter());
+        broadcaster.subscribe(USER_ID, new RecordingEmitter());
+
+        assertThat(broadcaster.subscriberCount(USER_ID)).isEqualTo(2);
+        broadcaster.onPlantChanged(PlantEvent.of(PlantEvent.Type.CREATED, plant("Mięta"), USER_ID));
+        runSender();
+        assertThat(first.events).isEmpty();
+    }
+
+    @Test
+    void drain_RemovesSubscriber_WhenSendFails() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failing = true;
+        broadcaster.subscribe(USER_ID, emitter);
+
+        broadcaster.onPlantChanged(PlantEvent.of(PlantEvent.Type.CREATED, plant("Mięta"), USER_ID));
+        runSender();
+
+        assertThat(broadcaster.subscriberCount(USER_ID)).isZero();
+    }
+
+    private void runSender() {
+        Runnable task;
+        while ((task = senderTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static PlantResponse plant(String name) {
+        return new PlantResponse(UUID.randomUUID(), name, null, 7, null);
+    }
+
+    /**
+     * Records the sent events as {@code name:plant name}, or just the name for events
+     * without a plant.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            String name = null;
+            PlantEvent event = null;
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof PlantEvent plantEvent) {
+                    event = plantEvent;
+                } else if (data.getData() instanceof String text && text.contains("event:")) {
+                    name = text.lines()
+                            .filter(line -> line.startsWith("event:"))
+                            .map(line -> line.substring("event:".length()))
+                            .collect(Collectors.joining());
+                }
+            }
+            events.add(event != null ? name + ":" + event.plant().name() : name);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.plant_tracker.service;
+
+import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.repository.PlantRepository;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PlantExportServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private static final Instant NOW = Instant.parse("2024-01-15T10:30:00Z");
+
+    @Mock
+    private PlantRepository plantRepository;
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    private PlantExportService exportService() {
+        return new PlantExportService(plantRepository, Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build(), clock,
+                Duration.ofMinutes(1));
+    }
+
+    @Test
+    void exportPlants_WritesOneJsonObjectPerLine_WhenFormatIsNdjson() throws IOException {
+        UUID plantId = UUID.randomUUID();
+        when(plantRepository.streamByUserId(USER_ID)).thenReturn(Stream.of(
+                new PlantResponse(plantId, "Mięta", NOW, 7, NOW.plus(Duration.ofDays(7))),
+                new PlantResponse(UUID.randomUUID(), "Oleander", null, 3, NOW)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService().exportPlants(USER_ID, PlantExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("{\"id\":\"" + plantId + "\",\"name\":\"Mięta\","
+                + "\"lastWateredAt\":\"2024-01-15T10:30:00Z\",\"wateringIntervalDays\":7,"
+                + "\"nextDueAt\":\"2024-01-22T10:30:00Z\"}");
+        assertThat(lines[1]).contains("\"name\":\"Oleander\"", "\"lastWateredAt\":null");
+    }
+
+    @Test
+    void exportPlants_WritesEscapedRows_WhenFormatIsCsv() throws IOException {
+        UUID plantId = UUID.randomUUID();
+        when(plantRepository.streamByUserId(USER_ID)).thenReturn(Stream.of(
+                new PlantResponse(plantId, "Fern, \"Boston\"", null, 7, NOW),
+                new PlantResponse(plantId, "=HYPERLINK(\"x\")", null, 7, NOW)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService().exportPlants(USER_ID, PlantExportFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,lastWateredAt,wateringIntervalDays,nextDueAt\r\n"
+                        + plantId + ",\"Fern, \"\"Boston\"\"\",,7,2024-01-15T10:30:00Z\r\n"
+                        + plantId + ",\"'=HYPERLINK(\"\"x\"\")\",,7,2024-01-15T10:30:00Z\r\n");
+    }
+
+    @Test
+    void exportPlants_StopsAndClosesStream_WhenDeadlinePasses() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(plantRepository.streamByUserId(USER_ID)).thenReturn(Stream.generate(() -> {
+                    clock.advance(Duration.ofSeconds(1));
+                    return new PlantResponse(UUID.randomUUID(), "Mięta", null, 7, NOW);
+                })
+                .onClose(() -> closed.set(true)));
+
+        assertThatThrownBy(() -> exportService().exportPlants(USER_ID, PlantExportFormat.NDJSON,
+                new ByteArrayOutputStream()))
+                .isInstanceOf(IOException.class);
+        assertThat(closed).isTrue();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.plant_tracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PlantImportReaderTest {
+
+    private final List<PlantImportReader.Row> rows = new ArrayList<>();
+
+    private final List<String> rejections = new ArrayList<>();
+
+    private void read(PlantExportFormat format, String input) throws IOException {
+        new PlantImportReader(format, new ObjectMapper(), new StringReader(input)).read(new PlantImportReader.RowHandler() {
+            @Override
+            public void accept(PlantImportReader.Row row) {
+                rows.add(row);
+            }
+
+            @Override
+            public void reject(long line, String reason) {
+                rejections.add(line + ": " + reason);
+            }
+        });
+    }
+
+    @Test
+    void read_ParsesNdjsonRows_AndRejectsInvalidOnes() throws IOException {
+        read(PlantExportFormat.NDJSON, """
+                {"name":"Mięta","wateringIntervalDays":3,"lastWateredAt":"2024-01-15T10:30:00Z"}
+                {"name":"Oleander"}
+
+                {"name":"x"}
+                not json
+                {"name":"Paproć","wateringIntervalDays":400}
+                {"name":"Fikus","lastWateredAt":"yesterday"}
+                """);
+
+        assertThat(rows).extracting(PlantImportReader.Row::line, PlantImportReader.Row::name,
+                        PlantImportReader.Row::wateringIntervalDays, PlantImportReader.Row::lastWateredAt)
+                .containsExactly(
+                        tuple(1L, "Mięta", 3, Instant.parse("2024-01-15T10:30:00Z")),
+                        tuple(2L, "Oleander", 7, null));
+        assertThat(rejections).containsExactly(
+                "4: Name must be between 3 and 50 characters",
+                "5: Not a JSON object",
+                "6: Watering interval must be between 1 and 365 days",
+                "7: Last watering time must be an ISO-8601 instant");
+    }
+
+    @Test
+    void read_ParsesCsvWithQuotedFields_InTheExportFormat() throws IOException {
+        read(PlantExportFormat.CSV, "id,name,lastWateredAt,wateringIntervalDays,nextDueAt\r\n"
+                + "1,\"Fern, \"\"Boston\"\"\",,5,\r\n"
+                + "2,\"Multi\nline\",2024-01-15T10:30:00Z,,\r\n"
+                + "3,\"'=HYPERLINK(\"\"x\"\")\",,,\r\n"
+                + "4,,,,\r\n");
+
+        assertThat(rows).extracting(PlantImportReader.Row::line, PlantImportReader.Row::name,
+                        PlantImportReader.Row::wateringIntervalDays)
+                .containsExactly(
+                        tuple(2L, "Fern, \"Boston\"", 5),
+                        tuple(3L, "Multi\nline", 7),
+                        tuple(5L, "=HYPERLINK(\"x\")", 7));
+        assertThat(rejections).containsExactly("6: Name cannot be blank");
+    }
+
+    @Test
+    void read_RejectsRow_WhenLongerThanLimit() throws IOException {
+        read(PlantExportFormat.NDJSON, "{\"name\":\"" + "a".repeat(PlantImportReader.MAX_ROW_LENGTH) + "\"}\n"
+                + "{\"name\":\"Mięta\"}\n");
+
+        assertThat(rows).extracting(PlantImportReader.Row::name).containsExactly("Mięta");
+        assertThat(rejections).containsExactly("1: Row is longer than " + PlantImportReader.MAX_ROW_LENGTH + " characters");
+    }
+
+    @Test
+    void read_RejectsFile_WhenCsvHeaderHasNoNameColumn() throws IOException {
+        read(PlantExportFormat.CSV, "title\nMięta\n");
+
+        assertThat(rows).isEmpty();
+        assertThat(rejections).containsExactly("1: Header has no 'name' column");
+    }
+}
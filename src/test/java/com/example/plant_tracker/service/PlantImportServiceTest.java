@@ -0,0 +1,113 @@
+package com.example.plant_tracker.service;
+
+import com.example.plant_tracker.dto.PlantImportResult;
+import com.example.plant_tracker.event.PlantsImportedEvent;
+import com.example.plant_tracker.exception.BulkImportUnavailableException;
+import com.example.plant_tracker.exception.ImportTooLargeException;
+import com.example.plant_tracker.repository.PlantImportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlantImportServiceTest {
+
+    @Mock
+    private PlantImportRepository plantImportRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void importPlants_CopiesSpooledRowsInOneTransaction_AfterReadingUpload() throws Exception {
+        PlantImportService service = service(DataSize.ofMegabytes(1));
+        when(plantImportRepository.isSupported()).thenReturn(true);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        AtomicReference<String> staged = new AtomicReference<>();
+        doAnswer(invocation -> {
+            staged.set(new String(invocation.<InputStream>getArgument(0).readAllBytes(), StandardCharsets.UTF_8));
+            return null;
+        }).when(plantImportRepository).stage(any());
+        when(plantImportRepository.merge(eq(userId), any()))
+                .thenReturn(new PlantImportRepository.MergeResult(2, 2, 1));
+
+        PlantImportResult result = service.importPlants(userId, PlantExportFormat.CSV,
+                body("name,wateringIntervalDays\nMięta,3\n\"Say \"\"hi\"\"\",\nx\n"));
+
+        assertThat(staged.get()).isEqualTo("2,\"Mięta\",3,\n3,\"Say \"\"hi\"\"\",7,\n");
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.conflicts()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(1);
+        verify(transactionManager).commit(any());
+        verify(eventPublisher).publishEvent(new PlantsImportedEvent(userId, 1));
+    }
+
+    @Test
+    void importPlants_RefusesUpload_WhenLargerThanMaxSize() {
+        PlantImportService service = service(DataSize.ofBytes(16));
+        when(plantImportRepository.isSupported()).thenReturn(true);
+
+        assertThatThrownBy(() -> service.importPlants(userId, PlantExportFormat.CSV,
+                body("name\nMonstera Deliciosa\n")))
+                .isInstanceOf(ImportTooLargeException.class);
+        verifyNoInteractions(transactionManager);
+        verify(plantImportRepository, never()).stage(any());
+    }
+
+    @Test
+    void importPlants_AcceptsUpload_OfExactlyMaxSize() throws Exception {
+        byte[] upload = "name\nMonstera\n".getBytes(StandardCharsets.UTF_8);
+        PlantImportService service = service(DataSize.ofBytes(upload.length));
+        when(plantImportRepository.isSupported()).thenReturn(true);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(plantImportRepository.merge(eq(userId), any()))
+                .thenReturn(new PlantImportRepository.MergeResult(1, 1, 1));
+
+        assertThat(service.importPlants(userId, PlantExportFormat.CSV, new ByteArrayInputStream(upload)).imported())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void importPlants_ThrowsBeforeReading_WhenDatabaseCannotBulkImport() {
+        PlantImportService service = service(DataSize.ofMegabytes(1));
+        when(plantImportRepository.isSupported()).thenReturn(false);
+        ByteArrayInputStream upload = body("name\nMonstera\n");
+
+        assertThatThrownBy(() -> service.importPlants(userId, PlantExportFormat.CSV, upload))
+                .isInstanceOf(BulkImportUnavailableException.class);
+        assertThat(upload.available()).isPositive();
+    }
+
+    private PlantImportService service(DataSize maxSize) {
+        return new PlantImportService(plantImportRepository, new ObjectMapper(), eventPublisher, transactionManager,
+                maxSize, Duration.ofMinutes(1));
+    }
+
+    private static ByteArrayInputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.plant_tracker.service;
+
+import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.event.PlantEvent;
+import com.example.plant_tracker.event.PlantsImportedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlantListVersionsTest {
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void endTransaction() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void onPlantChanged_BumpsEachUserOnceAfterCommit() {
+        PlantListVersions versions = new PlantListVersions(100);
+        UUID otherUserId = UUID.randomUUID();
+        String etag = versions.etag(userId);
+        String otherEtag = versions.etag(otherUserId);
+
+        for (int i = 0; i < 3; i++) {
+            versions.onPlantChanged(PlantEvent.of(PlantEvent.Type.WATERED,
+                    new PlantResponse(UUID.randomUUID(), "Paproć", null, 7, null), userId));
+        }
+        versions.onPlantsImported(new PlantsImportedEvent(otherUserId, 10));
+        assertThat(versions.etag(userId)).isEqualTo(etag);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(versions.etag(userId)).isNotEqualTo(etag).endsWith("-1\"");
+        assertThat(versions.etag(otherUserId)).isNotEqualTo(otherEtag).endsWith("-2\"");
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    @Test
+    void onPlantChanged_KeepsVersion_WhenTransactionRollsBack() {
+        PlantListVersions versions = new PlantListVersions(100);
+        String etag = versions.etag(userId);
+
+        versions.onPlantChanged(PlantEvent.deleted(UUID.randomUUID(), userId));
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(versions.etag(userId)).isEqualTo(etag);
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    @Test
+    void onPlantChanged_ForgetsAllVersions_WhenTooManyUsersHaveOne() {
+        PlantListVersions versions = new PlantListVersions(2);
+        UUID quietUserId = UUID.randomUUID();
+        String quietEtag = versions.etag(quietUserId);
+        bump(versions, userId);
+        String etag = versions.etag(userId);
+        bump(versions, UUID.randomUUID());
+
+        bump(versions, UUID.randomUUID());
+
+        assertThat(versions.etag(userId)).isNotEqualTo(etag);
+        assertThat(versions.etag(quietUserId)).isNotEqualTo(quietEtag);
+    }
+
+    private static void bump(PlantListVersions versions, UUID userId) {
+        versions.onPlantChanged(PlantEvent.deleted(UUID.randomUUID(), userId));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                status);
+        // the synchronizations stay registered until the transaction is cleaned up
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+}
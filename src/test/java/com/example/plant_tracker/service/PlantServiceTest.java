@@ -1,19 +1,35 @@
 package com.example.plant_tracker.service;
 
+import com.example.plant_tracker.dto.BatchCreatePlantResult;
+import com.example.plant_tracker.dto.BatchCreatePlantsRequest;
 import com.example.plant_tracker.dto.CreatePlantRequest;
+import com.example.plant_tracker.dto.PlantPage;
 import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.dto.WaterPlantsRequest;
+import com.example.plant_tracker.dto.WateringResponse;
+import com.example.plant_tracker.event.PlantEvent;
+import com.example.plant_tracker.exception.InvalidPageRequestException;
 import com.example.plant_tracker.exception.PlantExistsException;
 import com.example.plant_tracker.exception.PlantNotFoundException;
 import com.example.plant_tracker.model.Plant;
 import com.example.plant_tracker.model.User;
+import com.example.plant_tracker.repository.PlantCursor;
 import com.example.plant_tracker.repository.PlantRepository;
+import com.example.plant_tracker.repository.PlantSortProperty;
+import com.example.plant_tracker.repository.WateringEventRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.hibernate.exception.ConstraintViolationException;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.sql.SQLException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
@@ -21,8 +37,10 @@ import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,60 +50,136 @@ class PlantServiceTest {
     private PlantRepository plantRepository;
     @Mock
     private UserService userService;
+    @Mock
+    private WateringEventRepository wateringEventRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     private PlantService plantService;
 
-    private final String email = "test@test.com";
-    private final User user = new User(UUID.randomUUID(), email, "username", "password", "user", new ArrayList<>());
+    private final UUID userId = UUID.randomUUID();
+    private final User user = new User(userId, "test@test.com", "username", "password", "user", new ArrayList<>());
 
     @BeforeEach
     void setUp() {
-        plantService = new PlantService(plantRepository, userService);
+        plantService = new PlantService(plantRepository, userService, wateringEventRepository, eventPublisher,
+                transactionManager);
     }
 
     @Test
     void createPlant_CreatesPlantAndReturnsPlantResponse() {
         Plant newPlant = new Plant("Paproć");
-        when(plantRepository.save(any(Plant.class))).thenReturn(newPlant);
-        when(userService.findByEmail(email)).thenReturn(user);
+        when(plantRepository.saveAndFlush(any(Plant.class))).thenReturn(newPlant);
+        when(userService.getReference(userId)).thenReturn(user);
 
         CreatePlantRequest request = new CreatePlantRequest("Paproć");
 
-        PlantResponse createdPlant = plantService.createPlant(request, email);
+        PlantResponse createdPlant = plantService.createPlant(request, userId);
 
         assertEquals(createdPlant.name(), newPlant.getName());
-        verify(plantRepository).save(any(Plant.class));
+        verify(plantRepository).saveAndFlush(any(Plant.class));
     }
 
     @Test
     void createPlant_ThrowsPlantAlreadyExistsException_WhenPlantAlreadyExists() {
         CreatePlantRequest request = new CreatePlantRequest("Paproć");
-        when(plantRepository.existsByName(request.name())).thenReturn(true);
+        when(userService.getReference(userId)).thenReturn(user);
+        when(plantRepository.saveAndFlush(any(Plant.class))).thenThrow(nameConstraintViolation());
 
-        assertThatThrownBy(() -> plantService.createPlant(request, email))
+        assertThatThrownBy(() -> plantService.createPlant(request, userId))
                 .isInstanceOf(PlantExistsException.class)
                 .hasMessageContaining("Plant '" + request.name() + "' already exists");
     }
 
+    @Test
+    void createPlants_ReportsCreatedAndConflictingNames() {
+        BatchCreatePlantsRequest request = new BatchCreatePlantsRequest(List.of(
+                new CreatePlantRequest("Paproć"),
+                new CreatePlantRequest("Mięta"),
+                new CreatePlantRequest("Paproć"),
+                new CreatePlantRequest("Oleander")));
+        when(plantRepository.findExistingNames(userId, List.of("Paproć", "Mięta", "Paproć", "Oleander")))
+                .thenReturn(List.of("Mięta"));
+        when(userService.getReference(userId)).thenReturn(user);
+        when(plantRepository.save(any(Plant.class))).thenAnswer(invocation -> {
+            Plant plant = invocation.getArgument(0);
+            plant.setId(UUID.randomUUID());
+            return plant;
+        });
+
+        List<BatchCreatePlantResult> results = plantService.createPlants(request, userId);
+
+        assertThat(results)
+                .extracting(BatchCreatePlantResult::name, BatchCreatePlantResult::status)
+                .containsExactly(
+                        tuple("Paproć", BatchCreatePlantResult.Status.CREATED),
+                        tuple("Mięta", BatchCreatePlantResult.Status.CONFLICT),
+                        tuple("Paproć", BatchCreatePlantResult.Status.CONFLICT),
+                        tuple("Oleander", BatchCreatePlantResult.Status.CREATED));
+        assertThat(results.get(0).id()).isNotNull();
+        assertThat(results.get(1).id()).isNull();
+        verify(plantRepository, times(2)).save(any(Plant.class));
+    }
+
+    @Test
+    void createPlants_ReportsConcurrentlyTakenNamesAsConflicts_AfterRetrying() {
+        BatchCreatePlantsRequest request = new BatchCreatePlantsRequest(List.of(
+                new CreatePlantRequest("Paproć"),
+                new CreatePlantRequest("Mięta")));
+        when(plantRepository.findExistingNames(userId, List.of("Paproć", "Mięta")))
+                .thenReturn(List.of())
+                .thenReturn(List.of("Mięta"));
+        when(userService.getReference(userId)).thenReturn(user);
+        when(plantRepository.save(any(Plant.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(nameConstraintViolation()).doNothing().when(plantRepository).flush();
+
+        List<BatchCreatePlantResult> results = plantService.createPlants(request, userId);
+
+        assertThat(results)
+                .extracting(BatchCreatePlantResult::name, BatchCreatePlantResult::status)
+                .containsExactly(
+                        tuple("Paproć", BatchCreatePlantResult.Status.CREATED),
+                        tuple("Mięta", BatchCreatePlantResult.Status.CONFLICT));
+        verify(transactionManager).rollback(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void createPlants_ThrowsPlantExistsException_WhenNamesKeepBeingTaken() {
+        BatchCreatePlantsRequest request = new BatchCreatePlantsRequest(List.of(new CreatePlantRequest("Paproć")));
+        when(userService.getReference(userId)).thenReturn(user);
+        when(plantRepository.save(any(Plant.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(nameConstraintViolation()).when(plantRepository).flush();
+
+        assertThatThrownBy(() -> plantService.createPlants(request, userId))
+                .isInstanceOf(PlantExistsException.class);
+        verify(plantRepository, times(PlantService.MAX_BATCH_ATTEMPTS)).flush();
+    }
+
     @Test
     void getAllPlants_ReturnsPlants_WhenPlantsExists() {
         UUID plantId1 = UUID.randomUUID();
         UUID plantId2 = UUID.randomUUID();
         UUID plantId3 = UUID.randomUUID();
         Instant lastWateredAt = Instant.now();
-        Plant plant1 = new Plant(plantId1, "Paproć", lastWateredAt.minus(Duration.ofDays(1)));
-        Plant plant2 = new Plant(plantId2, "Oleander");
-        Plant plant3 = new Plant(plantId3, "Mięta", lastWateredAt.minus(Duration.ofDays(3)));
+        PlantResponse plant1 = new PlantResponse(plantId1, "Paproć", lastWateredAt.minus(Duration.ofDays(1)), 7, null);
+        PlantResponse plant2 = new PlantResponse(plantId2, "Oleander", null, 7, null);
+        PlantResponse plant3 = new PlantResponse(plantId3, "Mięta", lastWateredAt.minus(Duration.ofDays(3)), 7, null);
 
         Sort.Direction direction = Sort.Direction.ASC;
         String property = "name";
 
-        List<Plant> mockPlants = Arrays.asList(plant1, plant2, plant3);
+        List<PlantResponse> mockPlants = Arrays.asList(plant1, plant2, plant3);
 
-        when(plantRepository.findAllByUser(user, Sort.by(direction, property))).thenReturn(mockPlants);
-        when(userService.findByEmail(email)).thenReturn(user);
+        when(plantRepository.findPageByUserId(userId, PlantSortProperty.NAME, direction, null, 101))
+                .thenReturn(mockPlants);
 
-        List<PlantResponse> result = plantService.getUserPlants(direction, property, email);
+        PlantPage page = plantService.getUserPlants(direction, property, null, 100, userId);
+        List<PlantResponse> result = page.items();
+
+        assertThat(page.nextCursor()).isNull();
 
         assertThat(result)
                 .hasSize(3)
@@ -107,34 +201,152 @@ class PlantServiceTest {
 
     @Test
     void getAllPlants_ReturnsEmptyList_WhenNoPlantsExist() {
-        when(plantRepository.findAllByUser(user, Sort.by(Sort.Direction.ASC, "name"))).thenReturn(Collections.emptyList());
-        when(userService.findByEmail(email)).thenReturn(user);
+        when(plantRepository.findPageByUserId(userId, PlantSortProperty.NAME, Sort.Direction.ASC, null, 101))
+                .thenReturn(Collections.emptyList());
+
+        assertThat(plantService.getUserPlants(Sort.Direction.ASC, "name", null, 100, userId).items()).isEmpty();
+    }
+
+    @Test
+    void getAllPlants_ReturnsCursorOfLastPlant_WhenMorePlantsExist() {
+        PlantResponse plant1 = new PlantResponse(UUID.randomUUID(), "Mięta", null, 7, null);
+        PlantResponse plant2 = new PlantResponse(UUID.randomUUID(), "Oleander", null, 7, null);
+        PlantResponse plant3 = new PlantResponse(UUID.randomUUID(), "Paproć", null, 7, null);
+        when(plantRepository.findPageByUserId(userId, PlantSortProperty.NAME, Sort.Direction.ASC, null, 3))
+                .thenReturn(List.of(plant1, plant2, plant3));
+
+        PlantPage page = plantService.getUserPlants(Sort.Direction.ASC, "name", null, 2, userId);
+
+        assertThat(page.items())
+                .extracting(PlantResponse::name)
+                .containsExactly("Mięta", "Oleander");
+        PlantCursor cursor = PlantCursor.decode(page.nextCursor());
+        assertThat(cursor.id()).isEqualTo(plant2.id());
+        assertThat(cursor.name()).isEqualTo("Oleander");
+    }
+
+    @Test
+    void getAllPlants_ContinuesAfterCursor_WhenCursorGiven() {
+        Instant lastWateredAt = Instant.now();
+        PlantCursor cursor = new PlantCursor(PlantSortProperty.LAST_WATERED_AT, Sort.Direction.DESC,
+                UUID.randomUUID(), null, lastWateredAt);
+        when(plantRepository.findPageByUserId(userId, PlantSortProperty.LAST_WATERED_AT, Sort.Direction.DESC, cursor, 11))
+                .thenReturn(Collections.emptyList());
+
+        PlantPage page = plantService.getUserPlants(Sort.Direction.DESC, "lastWateredAt", cursor.encode(), 10, userId);
+
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void getAllPlants_ReturnsWholeList_WhenNoLimitOrCursorGiven() {
+        PlantResponse plant = new PlantResponse(UUID.randomUUID(), "Mięta", null, 7, null);
+        when(plantRepository.findSortedByUserId(userId, PlantSortProperty.NAME, Sort.Direction.ASC))
+                .thenReturn(List.of(plant));
+
+        PlantPage page = plantService.getUserPlants(Sort.Direction.ASC, "name", null, null, userId);
+
+        assertThat(page.items()).containsExactly(plant);
+        assertThat(page.nextCursor()).isNull();
+    }
 
-        assertThat(plantService.getUserPlants(Sort.Direction.ASC, "name", email)).isEmpty();
+    @Test
+    void getAllPlants_UsesDefaultPageSize_WhenCursorGivenWithoutLimit() {
+        PlantCursor cursor = new PlantCursor(PlantSortProperty.NAME, Sort.Direction.ASC, UUID.randomUUID(), "Mięta", null);
+        when(plantRepository.findPageByUserId(userId, PlantSortProperty.NAME, Sort.Direction.ASC, cursor,
+                PlantService.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(Collections.emptyList());
+
+        assertThat(plantService.getUserPlants(Sort.Direction.ASC, "name", cursor.encode(), null, userId).items())
+                .isEmpty();
+    }
+
+    @Test
+    void getAllPlants_ThrowsInvalidPageRequestException_WhenCursorDoesNotMatchSort() {
+        String cursor = new PlantCursor(PlantSortProperty.NAME, Sort.Direction.ASC, UUID.randomUUID(), "Mięta", null)
+                .encode();
+
+        assertThatThrownBy(() -> plantService.getUserPlants(Sort.Direction.DESC, "name", cursor, 10, userId))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    @Test
+    void getAllPlants_ThrowsInvalidPageRequestException_WhenPropertyIsNotSortable() {
+        assertThatThrownBy(() -> plantService.getUserPlants(Sort.Direction.ASC, "user", null, 10, userId))
+                .isInstanceOf(InvalidPageRequestException.class)
+                .hasMessageContaining("Cannot sort plants by 'user'");
+    }
+
+    @Test
+    void getAllPlants_ThrowsInvalidPageRequestException_WhenCursorIsMalformed() {
+        assertThatThrownBy(() -> plantService.getUserPlants(Sort.Direction.ASC, "name", "!!!", 10, userId))
+                .isInstanceOf(InvalidPageRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void getPlant_ReturnsPlantResponse_WhenPlantExists() {
+        UUID plantId = UUID.randomUUID();
+        PlantResponse plant = new PlantResponse(plantId, "Paproć", null, 7, null);
+        when(plantRepository.findResponseByIdAndUserId(plantId, userId)).thenReturn(Optional.of(plant));
+
+        assertThat(plantService.getPlant(plantId, userId)).isEqualTo(plant);
+    }
+
+    @Test
+    void getPlant_ThrowsPlantNotFoundException_WhenPlantNotFound() {
+        UUID plantId = UUID.randomUUID();
+        when(plantRepository.findResponseByIdAndUserId(plantId, userId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> plantService.getPlant(plantId, userId))
+                .isInstanceOf(PlantNotFoundException.class);
     }
 
     @Test
     void updatePlantName_UpdatesPlantNameAndReturnsPlantResponse() {
         UUID plantId = UUID.randomUUID();
         Plant plant = new Plant(plantId, "Paproć");
-        when(userService.findByEmail(email)).thenReturn(user);
-        when(plantRepository.findByIdAndUser(plantId, user)).thenReturn(Optional.of(plant));
+        when(plantRepository.findByIdAndUserId(plantId, userId)).thenReturn(Optional.of(plant));
 
-        PlantResponse result = plantService.updatePlantName(plantId, email, "Monstera");
+        PlantResponse result = plantService.updatePlantName(plantId, userId, "Monstera");
 
         assertEquals(plantId, result.id());
         assertEquals("Monstera", result.name());
     }
 
+    @Test
+    void updatePlantName_ThrowsPlantAlreadyExistsException_WhenNameIsTaken() {
+        UUID plantId = UUID.randomUUID();
+        Plant plant = new Plant(plantId, "Paproć");
+        when(plantRepository.findByIdAndUserId(plantId, userId)).thenReturn(Optional.of(plant));
+        doThrow(nameConstraintViolation()).when(plantRepository).flush();
+
+        assertThatThrownBy(() -> plantService.updatePlantName(plantId, userId, "Monstera"))
+                .isInstanceOf(PlantExistsException.class)
+                .hasMessageContaining("Plant 'Monstera' already exists");
+    }
+
+    @Test
+    void createPlant_RethrowsIntegrityViolation_WhenOtherConstraintFails() {
+        CreatePlantRequest request = new CreatePlantRequest("Paproć");
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("fk",
+                new ConstraintViolationException("fk", new SQLException(), "fk_plant_user"));
+        when(userService.getReference(userId)).thenReturn(user);
+        when(plantRepository.saveAndFlush(any(Plant.class))).thenThrow(violation);
+
+        assertThatThrownBy(() -> plantService.createPlant(request, userId))
+                .isSameAs(violation);
+    }
+
     @Test
     void updateLastWateredAt_UpdatesLastWateredTimeAndReturnsPlantResponse() {
         UUID plantId = UUID.randomUUID();
         Plant plant = new Plant(plantId, "Paproć");
         Instant lastWateredAt = Instant.now();
-        when(plantRepository.findByIdAndUser(plantId, user)).thenReturn(Optional.of(plant));
-        when(userService.findByEmail(email)).thenReturn(user);
+        when(plantRepository.findByIdAndUserId(plantId, userId)).thenReturn(Optional.of(plant));
 
-        PlantResponse result = plantService.updateLastWateredAt(plantId, email);
+        PlantResponse result = plantService.updateLastWateredAt(plantId, userId);
 
         assertEquals(plantId, result.id());
         assertEquals("Paproć", result.name());
@@ -145,39 +357,162 @@ class PlantServiceTest {
     @Test
     void updateLastWateredAt_ThrowsPlantNotFoundException_WhenWateringNonExistentPlant() {
         UUID plantId = UUID.randomUUID();
-        when(plantRepository.findByIdAndUser(plantId, user)).thenReturn(Optional.empty());
-        when(userService.findByEmail(email)).thenReturn(user);
+        when(plantRepository.findByIdAndUserId(plantId, userId)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> plantService.updateLastWateredAt(plantId, email))
+        assertThatThrownBy(() -> plantService.updateLastWateredAt(plantId, userId))
                 .isInstanceOf(PlantNotFoundException.class)
                 .hasMessageContaining(
                         "Plant with id '" + plantId + "' does not exist");
     }
 
     @Test
-    void removePlant_RemovesPlant_WhenPlantExists() {
+    void updateLastWateredAt_SchedulesNextWateringOneIntervalLater() {
+        UUID plantId = UUID.randomUUID();
+        Plant plant = new Plant(plantId, "Paproć");
+        plant.setWateringIntervalDays(3);
+        when(plantRepository.findByIdAndUserId(plantId, userId)).thenReturn(Optional.of(plant));
+
+        PlantResponse result = plantService.updateLastWateredAt(plantId, userId);
+
+        assertThat(result.nextDueAt()).isEqualTo(result.lastWateredAt().plus(Duration.ofDays(3)));
+        verify(eventPublisher).publishEvent(PlantEvent.of(PlantEvent.Type.WATERED, result, userId));
+    }
+
+    @Test
+    void updateWateringInterval_ReschedulesFromLastWatering() {
+        UUID plantId = UUID.randomUUID();
+        Instant lastWateredAt = Instant.parse("2025-06-01T08:00:00Z");
+        Plant plant = new Plant(plantId, "Paproć");
+        plant.water(lastWateredAt);
+        when(plantRepository.findByIdAndUserId(plantId, userId)).thenReturn(Optional.of(plant));
+
+        PlantResponse result = plantService.updateWateringInterval(plantId, userId, 10);
+
+        assertThat(result.wateringIntervalDays()).isEqualTo(10);
+        assertThat(result.nextDueAt()).isEqualTo(Instant.parse("2025-06-11T08:00:00Z"));
+    }
+
+    @Test
+    void updateWateringInterval_KeepsDueTime_WhenPlantWasNeverWatered() {
         UUID plantId = UUID.randomUUID();
+        Instant dueAt = Instant.parse("2025-06-01T08:00:00Z");
+        Plant plant = new Plant(plantId, "Paproć");
+        plant.setNextDueAt(dueAt);
+        when(plantRepository.findByIdAndUserId(plantId, userId)).thenReturn(Optional.of(plant));
+
+        PlantResponse result = plantService.updateWateringInterval(plantId, userId, 10);
+
+        assertThat(result.nextDueAt()).isEqualTo(dueAt);
+    }
+
+    @Test
+    void getDuePlants_ReturnsPlantsDueBeforeGivenTime() {
+        Instant before = Instant.now();
+        PlantResponse plant = new PlantResponse(UUID.randomUUID(), "Paproć", null, 7, before.minusSeconds(60));
+        when(plantRepository.findDueByUserId(userId, before, Limit.of(20))).thenReturn(List.of(plant));
+
+        List<PlantResponse> result = plantService.getDuePlants(before, 20, userId);
+
+        assertThat(result).containsExactly(plant);
+    }
+
+    @Test
+    void getDuePlants_ThrowsInvalidPageRequestException_WhenLimitIsTooLarge() {
+        assertThatThrownBy(() -> plantService.getDuePlants(Instant.now(), PlantService.MAX_PAGE_SIZE + 1, userId))
+                .isInstanceOf(InvalidPageRequestException.class);
+        verifyNoInteractions(plantRepository);
+    }
 
-        Plant plant = new Plant(plantId, "Paproć", Instant.now().minus(Duration.ofDays(1)));
-        when(plantRepository.findByIdAndUser(plantId, user)).thenReturn(Optional.of(plant));
-        when(userService.findByEmail(email)).thenReturn(user);
+    @Test
+    void getWaterings_ReturnsRecordedWaterings_WhenPlantBelongsToUser() {
+        UUID plantId = UUID.randomUUID();
+        Instant from = Instant.parse("2025-06-01T00:00:00Z");
+        Instant to = Instant.parse("2025-07-01T00:00:00Z");
+        Instant wateredAt = Instant.parse("2025-06-15T08:00:00Z");
+        when(plantRepository.existsByIdAndUserId(plantId, userId)).thenReturn(true);
+        when(wateringEventRepository.findByPlantId(plantId, from, to, 50)).thenReturn(List.of(wateredAt));
 
-        plantService.deletePlant(plantId, email);
+        List<WateringResponse> result = plantService.getWaterings(plantId, userId, from, to, 50);
 
-        verify(plantRepository).delete(plant);
+        assertThat(result).containsExactly(new WateringResponse(wateredAt));
+    }
+
+    @Test
+    void getWaterings_ThrowsPlantNotFoundException_WhenPlantNotFound() {
+        UUID plantId = UUID.randomUUID();
+        when(plantRepository.existsByIdAndUserId(plantId, userId)).thenReturn(false);
+
+        assertThatThrownBy(() -> plantService.getWaterings(plantId, userId, Instant.EPOCH, Instant.now(), 50))
+                .isInstanceOf(PlantNotFoundException.class);
+        verifyNoInteractions(wateringEventRepository);
+    }
+
+    @Test
+    void getWaterings_ThrowsInvalidPageRequestException_WhenRangeIsEmpty() {
+        Instant now = Instant.now();
+
+        assertThatThrownBy(() -> plantService.getWaterings(UUID.randomUUID(), userId, now, now, 50))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    @Test
+    void waterPlants_UpdatesListedPlantsAndReturnsThem() {
+        UUID plantId = UUID.randomUUID();
+        List<UUID> ids = List.of(plantId);
+        when(plantRepository.markWatered(eq(userId), eq(ids), any(Instant.class)))
+                .thenReturn(List.of(new PlantResponse(plantId, "Paproć", Instant.now(), 7, null)));
+
+        List<PlantResponse> result = plantService.waterPlants(new WaterPlantsRequest(ids, false), userId);
+
+        assertThat(result).extracting(PlantResponse::id).containsExactly(plantId);
+    }
+
+    @Test
+    void waterPlants_UpdatesAllPlants_WhenAllFlagIsSet() {
+        when(plantRepository.markWatered(eq(userId), isNull(), any(Instant.class)))
+                .thenReturn(List.of(
+                        new PlantResponse(UUID.randomUUID(), "Paproć", Instant.now(), 7, null),
+                        new PlantResponse(UUID.randomUUID(), "Mięta", Instant.now(), 7, null)));
+
+        List<PlantResponse> result = plantService.waterPlants(new WaterPlantsRequest(null, true), userId);
+
+        assertThat(result).hasSize(2);
+    }
+
+    @Test
+    void waterPlants_ReturnsEmptyList_WhenNoPlantMatches() {
+        List<UUID> ids = List.of(UUID.randomUUID());
+        when(plantRepository.markWatered(eq(userId), eq(ids), any(Instant.class))).thenReturn(List.of());
+
+        assertThat(plantService.waterPlants(new WaterPlantsRequest(ids, false), userId)).isEmpty();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void removePlant_RemovesPlant_WhenPlantExists() {
+        UUID plantId = UUID.randomUUID();
+        when(plantRepository.deleteByIdAndUserId(plantId, userId)).thenReturn(1);
+
+        plantService.deletePlant(plantId, userId);
+
+        verify(plantRepository).deleteByIdAndUserId(plantId, userId);
+        verify(eventPublisher).publishEvent(PlantEvent.deleted(plantId, userId));
     }
 
     @Test
     void removePlant_ThrowsPlantNotFoundException_WhenPlantNotFound() {
         UUID plantId = UUID.randomUUID();
-        when(plantRepository.findByIdAndUser(plantId, user)).thenReturn(Optional.empty());
-        when(userService.findByEmail(email)).thenReturn(user);
+        when(plantRepository.deleteByIdAndUserId(plantId, userId)).thenReturn(0);
 
-        assertThatThrownBy(() -> plantService.deletePlant(plantId, email))
+        assertThatThrownBy(() -> plantService.deletePlant(plantId, userId))
                 .isInstanceOf(PlantNotFoundException.class)
                 .hasMessageContaining(
                         "Plant with id '" + plantId + "' does not exist");
-
+        verifyNoInteractions(eventPublisher);
     }
 
-}
\ No newline at end of file
+    private static DataIntegrityViolationException nameConstraintViolation() {
+        return new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException(), Plant.USER_NAME_CONSTRAINT));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.plant_tracker.service;
+
+import com.example.plant_tracker.model.User;
+import com.example.plant_tracker.repository.UserRepository;
+import com.example.plant_tracker.security.AuthUser;
+import com.example.plant_tracker.security.BoundedPasswordEncoder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    void login_RehashesPassword_WhenStoredCostDiffersFromConfigured() {
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(userRepository);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(5, 1, 4);
+        User user = new User(UUID.randomUUID(), "test@example.com", "user",
+                new BCryptPasswordEncoder(4).encode("password123"), "ROLE_USER", List.of());
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(userDetailsService);
+        Authentication authentication = provider.authenticate(
+                new UsernamePasswordAuthenticationToken("test@example.com", "password123"));
+
+        AuthUser principal = (AuthUser) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(user.getId());
+        verify(userRepository).updatePasswordByEmail(eq("test@example.com"), startsWith("$2a$05$"));
+        encoder.destroy();
+    }
+
+    @Test
+    void login_KeepsPassword_WhenStoredCostMatches() {
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(userRepository);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, 1, 4);
+        User user = new User(UUID.randomUUID(), "test@example.com", "user",
+                new BCryptPasswordEncoder(4).encode("password123"), "ROLE_USER", List.of());
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(userDetailsService);
+        provider.authenticate(new UsernamePasswordAuthenticationToken("test@example.com", "password123"));
+
+        verify(userRepository, never()).updatePasswordByEmail(anyString(), anyString());
+        encoder.destroy();
+    }
+}
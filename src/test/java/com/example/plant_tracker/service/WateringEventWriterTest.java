@@ -0,0 +1,176 @@
+package com.example.plant_tracker.service;
+
+import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.event.PlantEvent;
+import com.example.plant_tracker.repository.WateringEvent;
+import com.example.plant_tracker.repository.WateringEventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WateringEventWriterTest {
+
+    @Mock
+    private WateringEventRepository wateringEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void drain_WritesQueuedWateringsInBatches() {
+        WateringEventWriter writer = new WateringEventWriter(wateringEventRepository, transactionManager, 100, 2);
+        for (int i = 0; i < 5; i++) {
+            writer.onPlantChanged(watered(UUID.randomUUID()));
+        }
+
+        writer.stop();
+        writer.drain();
+
+        verify(wateringEventRepository, times(2)).insertAll(argThat(batch -> batch.size() == 2));
+        verify(wateringEventRepository).insertAll(argThat(batch -> batch.size() == 1));
+    }
+
+    @Test
+    void drain_RetriesFailedBatch() {
+        WateringEventWriter writer = new WateringEventWriter(wateringEventRepository, transactionManager, 100, 500);
+        doThrow(new QueryTimeoutException("timeout")).doNothing().when(wateringEventRepository).insertAll(anyList());
+        writer.onPlantChanged(watered(UUID.randomUUID()));
+
+        writer.drain();
+
+        verify(wateringEventRepository, times(2)).insertAll(argThat(batch -> batch.size() == 1));
+    }
+
+    @Test
+    void start_WritesWateringsInTheBackground() {
+        WateringEventWriter writer = new WateringEventWriter(wateringEventRepository, transactionManager, 100, 500);
+        UUID plantId = UUID.randomUUID();
+        Instant wateredAt = Instant.parse("2025-06-01T08:00:00Z");
+        writer.start();
+        try {
+            writer.onPlantChanged(PlantEvent.of(PlantEvent.Type.WATERED,
+                    new PlantResponse(plantId, "Paproć", wateredAt, 7, null), userId));
+
+            verify(wateringEventRepository, timeout(5_000))
+                    .insertAll(List.of(new WateringEvent(plantId, userId, wateredAt)));
+        } finally {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void onPlantChanged_IgnoresChangesOtherThanWatering() {
+        WateringEventWriter writer = new WateringEventWriter(wateringEventRepository, transactionManager, 100, 500);
+        writer.onPlantChanged(PlantEvent.of(PlantEvent.Type.RENAMED,
+                new PlantResponse(UUID.randomUUID(), "Paproć", null, 7, null), userId));
+        writer.onPlantChanged(PlantEvent.deleted(UUID.randomUUID(), userId));
+
+        writer.stop();
+
+        verifyNoInteractions(wateringEventRepository);
+    }
+
+    @Test
+    void onPlantChanged_QueuesWateringsOfTransactionOnCommit() {
+        WateringEventWriter writer = new WateringEventWriter(wateringEventRepository, transactionManager, 100, 500);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writer.onPlantChanged(watered(UUID.randomUUID()));
+            writer.onPlantChanged(watered(UUID.randomUUID()));
+            writer.drain();
+            verifyNoInteractions(wateringEventRepository);
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        writer.drain();
+
+        verify(wateringEventRepository).insertAll(argThat(batch -> batch.size() == 2));
+    }
+
+    @Test
+    void onPlantChanged_DiscardsWateringsOfRolledBackTransaction() {
+        WateringEventWriter writer = new WateringEventWriter(wateringEventRepository, transactionManager, 100, 500);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writer.onPlantChanged(watered(UUID.randomUUID()));
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        writer.drain();
+
+        verifyNoInteractions(wateringEventRepository);
+    }
+
+    @Test
+    void onPlantChanged_WritesOverflowDirectly_WhenQueueIsFull() {
+        WateringEventWriter writer = new WateringEventWriter(wateringEventRepository, transactionManager, 1, 500);
+        writer.onPlantChanged(watered(UUID.randomUUID()));
+        writer.onPlantChanged(watered(UUID.randomUUID()));
+
+        verify(wateringEventRepository).insertAll(argThat(batch -> batch.size() == 1));
+        verify(transactionManager).commit(any());
+
+        writer.drain();
+
+        verify(wateringEventRepository, times(2)).insertAll(argThat(batch -> batch.size() == 1));
+    }
+
+    @Test
+    void start_RetriesFailedBatch() {
+        WateringEventWriter writer = new WateringEventWriter(wateringEventRepository, transactionManager, 100, 500);
+        UUID plantId = UUID.randomUUID();
+        doThrow(new QueryTimeoutException("timeout")).doNothing().when(wateringEventRepository).insertAll(anyList());
+        writer.start();
+        try {
+            writer.onPlantChanged(watered(plantId));
+
+            verify(wateringEventRepository, timeout(5_000).times(2))
+                    .insertAll(argThat(batch -> batch.size() == 1 && batch.get(0).plantId().equals(plantId)));
+        } finally {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void drain_WritesBatchWorkerWasRetrying_AfterStop() {
+        WateringEventWriter writer = new WateringEventWriter(wateringEventRepository, transactionManager, 100, 500);
+        doThrow(new QueryTimeoutException("timeout")).when(wateringEventRepository).insertAll(anyList());
+        writer.start();
+        writer.onPlantChanged(watered(UUID.randomUUID()));
+        verify(wateringEventRepository, timeout(5_000)).insertAll(anyList());
+        writer.stop();
+        reset(wateringEventRepository);
+
+        writer.drain();
+
+        verify(wateringEventRepository).insertAll(argThat(batch -> batch.size() == 1));
+    }
+
+    private PlantEvent watered(UUID plantId) {
+        return PlantEvent.of(PlantEvent.Type.WATERED, new PlantResponse(plantId, "Paproć", Instant.now(), 7, null), userId);
+    }
+}
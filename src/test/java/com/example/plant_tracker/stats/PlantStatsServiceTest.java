@@ -0,0 +1,208 @@
+package com.example.plant_tracker.stats;
+
+import com.example.plant_tracker.dto.PlantResponse;
+import com.example.plant_tracker.dto.PlantStatsResponse;
+import com.example.plant_tracker.event.PlantEvent;
+import com.example.plant_tracker.event.WateringReminderEvent;
+import com.example.plant_tracker.repository.PlantDueTime;
+import com.example.plant_tracker.repository.PlantRepository;
+import com.example.plant_tracker.repository.UserPlantCount;
+import com.example.plant_tracker.repository.WateringEvent;
+import com.example.plant_tracker.repository.WateringEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlantStatsServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-30T12:00:00Z");
+
+    @Mock
+    private PlantRepository plantRepository;
+    @Mock
+    private WateringEventRepository wateringEventRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    private final UUID userId = UUID.randomUUID();
+
+    private PlantStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        statsService = new PlantStatsService(plantRepository, wateringEventRepository, transactionManager, clock);
+    }
+
+    @Test
+    void getStats_ReturnsEmptyStats_ForUnknownUser() {
+        PlantStatsResponse stats = statsService.getStats(userId);
+
+        assertThat(stats.totalPlants()).isZero();
+        assertThat(stats.overduePlants()).isZero();
+        assertThat(stats.averageDaysBetweenWaterings()).isNull();
+        assertThat(stats.wateringsPerDay()).hasSize(90).containsOnly(0);
+    }
+
+    @Test
+    void rebuild_CountsPlantsOverduePlantsAndWaterings() {
+        UUID overduePlant = UUID.randomUUID();
+        when(plantRepository.countByUser()).thenReturn(List.of(new UserPlantCount(userId, 3)));
+        when(plantRepository.streamDueBefore(NOW))
+                .thenReturn(Stream.of(new PlantDueTime(overduePlant, userId, NOW.minusSeconds(60))));
+        doAnswer(invocation -> {
+            Consumer<WateringEvent> action = invocation.getArgument(1);
+            action.accept(new WateringEvent(UUID.randomUUID(), userId, NOW));
+            action.accept(new WateringEvent(UUID.randomUUID(), userId, NOW.minus(Duration.ofDays(1))));
+            action.accept(new WateringEvent(UUID.randomUUID(), userId, NOW.minus(Duration.ofDays(1))));
+            return null;
+        }).when(wateringEventRepository).forEachSince(eq(Instant.parse("2025-04-02T00:00:00Z")), any());
+
+        statsService.rebuild();
+        PlantStatsResponse stats = statsService.getStats(userId);
+
+        assertThat(stats.totalPlants()).isEqualTo(3);
+        assertThat(stats.overduePlants()).isEqualTo(1);
+        assertThat(stats.wateringsPerDay()[89]).isEqualTo(1);
+        assertThat(stats.wateringsPerDay()[88]).isEqualTo(2);
+        assertThat(stats.averageDaysBetweenWaterings()).isEqualTo(90.0);
+    }
+
+    @Test
+    void rebuild_KeepsChangesAppliedWhileItRuns() {
+        UUID plantId = UUID.randomUUID();
+        when(plantRepository.countByUser()).thenReturn(List.of(new UserPlantCount(userId, 3)));
+        when(plantRepository.streamDueBefore(NOW)).thenReturn(Stream.empty());
+        doAnswer(invocation -> {
+            Consumer<WateringEvent> action = invocation.getArgument(1);
+            action.accept(new WateringEvent(UUID.randomUUID(), userId, NOW.minus(Duration.ofDays(1))));
+            statsService.onPlantChanged(PlantEvent.of(PlantEvent.Type.CREATED, plant(plantId, null, NOW), userId));
+            statsService.onPlantChanged(PlantEvent.of(PlantEvent.Type.WATERED,
+                    plant(plantId, NOW, NOW.plus(Duration.ofDays(7))), userId));
+            statsService.onReminder(new WateringReminderEvent(UUID.randomUUID(), userId, NOW));
+            return null;
+        }).when(wateringEventRepository).forEachSince(any(), any());
+
+        statsService.rebuild();
+        PlantStatsResponse stats = statsService.getStats(userId);
+
+        assertThat(stats.totalPlants()).isEqualTo(4);
+        assertThat(stats.overduePlants()).isEqualTo(1);
+        assertThat(stats.wateringsPerDay()[88]).isEqualTo(1);
+        assertThat(stats.wateringsPerDay()[89]).isEqualTo(1);
+    }
+
+    @Test
+    void rebuild_DoesNotReplayChangesOfEarlierRebuild() {
+        when(plantRepository.countByUser()).thenReturn(List.of(new UserPlantCount(userId, 3)));
+        when(plantRepository.streamDueBefore(NOW)).thenAnswer(invocation -> Stream.empty());
+        doAnswer(invocation -> {
+            statsService.onPlantChanged(PlantEvent.of(PlantEvent.Type.CREATED,
+                    plant(UUID.randomUUID(), null, NOW), userId));
+            return null;
+        }).doNothing().when(wateringEventRepository).forEachSince(any(), any());
+        statsService.rebuild();
+
+        statsService.rebuild();
+
+        assertThat(statsService.getStats(userId).totalPlants()).isEqualTo(3);
+    }
+
+    @Test
+    void onPlantChanged_TracksPlantsAndWaterings() {
+        UUID plantId = UUID.randomUUID();
+        statsService.onPlantChanged(PlantEvent.of(PlantEvent.Type.CREATED, plant(plantId, null, NOW), userId));
+        statsService.onPlantChanged(PlantEvent.of(PlantEvent.Type.CREATED, plant(UUID.randomUUID(), null, NOW), userId));
+        statsService.onReminder(new WateringReminderEvent(plantId, userId, NOW));
+
+        assertThat(statsService.getStats(userId).overduePlants()).isEqualTo(1);
+
+        statsService.onPlantChanged(PlantEvent.of(PlantEvent.Type.WATERED,
+                plant(plantId, NOW, NOW.plus(Duration.ofDays(7))), userId));
+        PlantStatsResponse stats = statsService.getStats(userId);
+
+        assertThat(stats.totalPlants()).isEqualTo(2);
+        assertThat(stats.overduePlants()).isZero();
+        assertThat(stats.wateringsPerDay()[89]).isEqualTo(1);
+    }
+
+    @Test
+    void onPlantChanged_ForgetsDeletedPlant() {
+        UUID plantId = UUID.randomUUID();
+        statsService.onPlantChanged(PlantEvent.of(PlantEvent.Type.CREATED, plant(plantId, null, NOW), userId));
+        statsService.onReminder(new WateringReminderEvent(plantId, userId, NOW));
+
+        statsService.onPlantChanged(PlantEvent.deleted(plantId, userId));
+        PlantStatsResponse stats = statsService.getStats(userId);
+
+        assertThat(stats.totalPlants()).isZero();
+        assertThat(stats.overduePlants()).isZero();
+    }
+
+    @Test
+    void getStats_DropsWateringsOlderThanWindow() {
+        UUID plantId = UUID.randomUUID();
+        statsService.onPlantChanged(PlantEvent.of(PlantEvent.Type.WATERED,
+                plant(plantId, NOW, NOW.plus(Duration.ofDays(7))), userId));
+
+        clock.advance(Duration.ofDays(89));
+        assertThat(statsService.getStats(userId).wateringsPerDay()[0]).isEqualTo(1);
+
+        clock.advance(Duration.ofDays(1));
+        PlantStatsResponse stats = statsService.getStats(userId);
+        assertThat(stats.wateringsPerDay()).containsOnly(0);
+        assertThat(stats.averageDaysBetweenWaterings()).isNull();
+    }
+
+    private static PlantResponse plant(UUID plantId, Instant lastWateredAt, Instant nextDueAt) {
+        return new PlantResponse(plantId, "Paproć", lastWateredAt, 7, nextDueAt);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}